@@ -0,0 +1,34 @@
+package com.meteordevelopments.duels.api.event.request;
+
+import com.meteordevelopments.duels.api.request.Request;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when a {@link Request} expires without being accepted or denied. Only called if both players are online.
+ *
+ * @since 4.2
+ */
+public class RequestExpireEvent extends RequestEvent {
+
+    private static final HandlerList handlers = new HandlerList();
+
+    /**
+     * @param source  {@link Player} who sent this {@link Request}.
+     * @param target  {@link Player} who received this {@link Request}.
+     * @param request {@link Request} that expired.
+     */
+    public RequestExpireEvent(@NotNull final Player source, @NotNull final Player target, @NotNull final Request request) {
+        super(source, target, request);
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+}
@@ -11,6 +11,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Represents the QueueManager singleton used by Duels.
@@ -40,6 +41,17 @@ public interface DQueueManager {
     DQueue get(@NotNull final Player player);
 
 
+    /**
+     * Gets a {@link DQueue} with the player with the given {@link UUID}.
+     *
+     * @param uuid UUID of the player to check if in queue
+     * @return The queue player is in or null if not in queue
+     * @since 4.2
+     */
+    @Nullable
+    DQueue get(@NotNull final UUID uuid);
+
+
     /**
      * Creates a new {@link DQueue}.
      * Note: Calls {@link QueueCreateEvent} on successful creation.
@@ -92,6 +104,16 @@ public interface DQueueManager {
     boolean isInQueue(@NotNull final Player player);
 
 
+    /**
+     * Whether or not the player with the given {@link UUID} is in a queue.
+     *
+     * @param uuid UUID of the player to check if in queue.
+     * @return True if the player is in a queue. False otherwise.
+     * @since 4.2
+     */
+    boolean isInQueue(@NotNull final UUID uuid);
+
+
     /**
      * Adds the {@link Player} to the given {@link DQueue}.
      * Note: Calls {@link QueueJoinEvent}.
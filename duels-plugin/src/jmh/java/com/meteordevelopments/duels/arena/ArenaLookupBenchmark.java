@@ -0,0 +1,112 @@
+package com.meteordevelopments.duels.arena;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the arena of a player by scanning every arena, as ArenaManagerImpl#get(Player) used to, with the
+ * UUID index it keeps now. Half of the online players are in a match, the others are looked up as well since
+ * listeners query every player. ArenaImpl needs a running server, so arenas are modelled by their match state only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArenaLookupBenchmark {
+
+    @Param({"50", "150", "300"})
+    private int arenas;
+
+    @Param("300")
+    private int players;
+
+    private List<MatchArena> list;
+    private Map<UUID, MatchArena> index;
+    private UUID[] lookups;
+    private int next;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        final int inMatch = Math.min(players / 2, arenas * 2);
+        final List<UUID> online = new ArrayList<>();
+
+        list = new ArrayList<>();
+        index = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < arenas; i++) {
+            if (i * 2 >= inMatch) {
+                list.add(new MatchArena(null));
+                continue;
+            }
+
+            final Set<UUID> alive = new HashSet<>();
+            final MatchArena arena = new MatchArena(alive);
+
+            for (int j = 0; j < 2; j++) {
+                final UUID uuid = new UUID(random.nextLong(), random.nextLong());
+                alive.add(uuid);
+                index.put(uuid, arena);
+                online.add(uuid);
+            }
+
+            list.add(arena);
+        }
+
+        while (online.size() < players) {
+            online.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        Collections.shuffle(online, random);
+        lookups = online.toArray(new UUID[0]);
+    }
+
+    private UUID nextPlayer() {
+        final UUID player = lookups[next];
+        next = next + 1 == lookups.length ? 0 : next + 1;
+        return player;
+    }
+
+    @Benchmark
+    public MatchArena scan() {
+        final UUID player = nextPlayer();
+        return list.stream().filter(arena -> arena.has(player)).findFirst().orElse(null);
+    }
+
+    @Benchmark
+    public MatchArena index() {
+        final UUID player = nextPlayer();
+        final MatchArena arena = index.get(player);
+        return arena != null && arena.has(player) ? arena : null;
+    }
+
+    public static final class MatchArena {
+
+        // Players alive in the arena's match, null if the arena is not in use.
+        private final Set<UUID> alive;
+
+        MatchArena(final Set<UUID> alive) {
+            this.alive = alive;
+        }
+
+        boolean has(final UUID player) {
+            return alive != null && alive.contains(player);
+        }
+    }
+}
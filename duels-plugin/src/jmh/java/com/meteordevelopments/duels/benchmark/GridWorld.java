@@ -0,0 +1,155 @@
+package com.meteordevelopments.duels.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Cube of materials exposed through World and Block stand-ins, for benchmarks of block code that run without a
+ * server. Blocks outside of the cube read as air and ignore changes.
+ */
+public final class GridWorld {
+
+    private static final Map<Material, BlockData> DATA = new EnumMap<>(Material.class);
+
+    private final int size;
+    private final Material[] types;
+    private final World world;
+
+    public GridWorld(final int size) {
+        this.size = size;
+        this.types = new Material[size * size * size];
+        Arrays.fill(types, Material.AIR);
+        this.world = proxy(World.class, this::invokeWorld);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(GridWorld.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static synchronized BlockData getData(final Material type) {
+        return DATA.computeIfAbsent(type, key -> proxy(BlockData.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getMaterial":
+                    return key;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return key.name();
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }));
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private int index(final int x, final int y, final int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= size || y >= size || z >= size) {
+            return -1;
+        }
+
+        return (y * size + z) * size + x;
+    }
+
+    public Material getType(final int x, final int y, final int z) {
+        final int index = index(x, y, z);
+        return index != -1 ? types[index] : Material.AIR;
+    }
+
+    public void setType(final int x, final int y, final int z, final Material type) {
+        final int index = index(x, y, z);
+
+        if (index != -1) {
+            types[index] = type;
+        }
+    }
+
+    // Like the server, every call returns a new block instance.
+    public Block getBlockAt(final int x, final int y, final int z) {
+        return proxy(Block.class, new GridBlock(x, y, z));
+    }
+
+    private Object invokeWorld(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "getBlockAt":
+                if (args.length == 1) {
+                    final Location location = (Location) args[0];
+                    return getBlockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+                }
+
+                return getBlockAt((int) args[0], (int) args[1], (int) args[2]);
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "GridWorld";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private final class GridBlock implements InvocationHandler {
+
+        private final int x, y, z;
+
+        private GridBlock(final int x, final int y, final int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "getWorld":
+                    return world;
+                case "getX":
+                    return x;
+                case "getY":
+                    return y;
+                case "getZ":
+                    return z;
+                case "getLocation":
+                    return new Location(world, x, y, z);
+                case "getType":
+                    return getType(x, y, z);
+                case "setType":
+                    setType(x, y, z, (Material) args[0]);
+                    return null;
+                case "getBlockData":
+                    return getData(getType(x, y, z));
+                case "setBlockData":
+                    setType(x, y, z, ((BlockData) args[0]).getMaterial());
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "GridBlock{" + x + ", " + y + ", " + z + "}";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
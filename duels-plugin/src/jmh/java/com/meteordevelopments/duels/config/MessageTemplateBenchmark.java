@@ -0,0 +1,99 @@
+package com.meteordevelopments.duels.config;
+
+import com.meteordevelopments.duels.util.StringUtil;
+import org.bukkit.craftbukkit.StubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering lang messages with MessageTemplate against the per-placeholder String#replace and coloring on
+ * every send that Lang used before. The broadcast benchmarks send one message to a number of receivers, as
+ * Lang#sendMessage(Collection, ...) does for countdowns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageTemplateBenchmark {
+
+    @Param({"opponent-defeat", "round-end", "queue-add"})
+    private String message;
+
+    @Param("200")
+    private int receivers;
+
+    private String raw;
+    private Object[] replacers;
+    private MessageTemplate template;
+
+    @Setup
+    public void setup() {
+        StubServer.install();
+
+        switch (message) {
+            case "opponent-defeat":
+                raw = "&9[Duels] &f%winner% &a(%winner_rating%) (+%change%) &7defeated &f%loser% &c(%loser_rating%) (-%change%) &7with kit &3%kit% &7on arena &e%arena%&7.";
+                replacers = new Object[]{"winner", "Notch", "loser", "jeb_", "health", 7.5, "kit", "NoDebuff", "arena", "Colosseum", "winner_rating", 1416, "loser_rating", 1384, "change", 16};
+                break;
+            case "round-end":
+                raw = "&9[Duels] &7Round &e%round% &7finished! &f%winner% &7won the round!";
+                replacers = new Object[]{"round", 2, "winner", "Notch"};
+                break;
+            case "queue-add":
+                raw = "&9[Duels] &7You have been added to the queue for kit &3%kit% &7and bet &6$%bet_amount%&7. Click the sign again or type &f/queue leave &7to leave the queue.";
+                replacers = new Object[]{"kit", "NoDebuff", "bet_amount", 0};
+                break;
+            default:
+                throw new IllegalArgumentException(message);
+        }
+
+        template = MessageTemplate.compile(raw);
+    }
+
+    // Lang#replace before messages were compiled.
+    private static String replace(String message, Object... replacers) {
+        for (int i = 0; i < replacers.length; i += 2) {
+            if (i + 1 >= replacers.length) {
+                break;
+            }
+
+            message = message.replace("%" + replacers[i].toString() + "%", String.valueOf(replacers[i + 1]));
+        }
+
+        return message;
+    }
+
+    @Benchmark
+    public String replace() {
+        return StringUtil.color(replace(raw, replacers));
+    }
+
+    @Benchmark
+    public String template() {
+        return template.render(true, replacers);
+    }
+
+    @Benchmark
+    public void broadcastReplace(final Blackhole blackhole) {
+        for (int i = 0; i < receivers; i++) {
+            blackhole.consume(StringUtil.color(replace(raw, replacers)));
+        }
+    }
+
+    @Benchmark
+    public void broadcastTemplate(final Blackhole blackhole) {
+        final String rendered = template.render(true, replacers);
+
+        for (int i = 0; i < receivers; i++) {
+            blackhole.consume(rendered);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.meteordevelopments.duels.data;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.meteordevelopments.duels.data.ItemData.ItemDataDeserializer;
+import com.meteordevelopments.duels.util.json.JsonUtil;
+import com.meteordevelopments.duels.util.yaml.YamlUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Load time of a kits.json with 100 kits, in the legacy item format and in the compact format written by ItemCodec.
+ * Each benchmark parses the file into KitData and reads every item up to the point the server takes over: legacy
+ * items go through the YAML dump and parse of ItemData#toItemStack, compact items through the base64 and ItemCodec
+ * framing. Building the ItemStack itself needs a running server and is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KitLoadBenchmark {
+
+    private static final TypeReference<LinkedHashMap<String, KitData>> KITS_TYPE = new TypeReference<LinkedHashMap<String, KitData>>() {};
+    private static final int DATA_VERSION = 3465;
+
+    private static boolean registered;
+
+    @Param("100")
+    private int kits;
+
+    // Items of a full inventory and armor set.
+    @Param("40")
+    private int itemsPerKit;
+
+    private String legacyJson;
+    private String compactJson;
+
+    private Field displayedField;
+    private Field itemsField;
+    private Field itemField;
+    private Field bytesField;
+
+    @Setup
+    public void setup() throws Exception {
+        synchronized (KitLoadBenchmark.class) {
+            if (!registered) {
+                JsonUtil.registerDeserializer(ItemData.class, ItemDataDeserializer.class);
+                registered = true;
+            }
+        }
+
+        displayedField = field(KitData.class, "displayed");
+        itemsField = field(KitData.class, "items");
+        itemField = field(ItemData.class, "item");
+        bytesField = field(ItemData.class, "bytes");
+
+        final Random random = new Random(0);
+        legacyJson = JsonUtil.getObjectMapper().writeValueAsString(createKits(slot -> {
+            final Map<String, Object> item = new HashMap<>();
+            item.put("item", legacyItem(slot));
+            return item;
+        }));
+        compactJson = JsonUtil.getObjectMapper().writeValueAsString(createKits(slot -> {
+            final Map<String, Object> item = new HashMap<>();
+            item.put("bytes", compactItem(random));
+            return item;
+        }));
+    }
+
+    private static Field field(final Class<?> type, final String name) throws NoSuchFieldException {
+        final Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    private Map<String, Object> createKits(final Function<Integer, Map<String, Object>> item) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+
+        for (int i = 0; i < kits; i++) {
+            final Map<String, Object> kit = new LinkedHashMap<>();
+            final Map<String, Object> inventory = new LinkedHashMap<>();
+            final Map<String, Object> armor = new LinkedHashMap<>();
+
+            for (int slot = 0; slot < itemsPerKit - 4; slot++) {
+                inventory.put(String.valueOf(slot), item.apply(slot));
+            }
+
+            for (int slot = 1; slot <= 4; slot++) {
+                armor.put(String.valueOf(slot), item.apply(-slot));
+            }
+
+            final Map<String, Object> items = new LinkedHashMap<>();
+            items.put("INVENTORY", inventory);
+            items.put("ARMOR", armor);
+
+            kit.put("name", "kit" + i);
+            kit.put("displayed", item.apply(0));
+            kit.put("usePermission", false);
+            kit.put("arenaSpecific", false);
+            kit.put("characteristics", Collections.singletonList("UHC"));
+            kit.put("items", items);
+            result.put("kit" + i, kit);
+        }
+
+        return result;
+    }
+
+    // Maps as written by ItemData before the compact format, armor pieces have negative slots.
+    private static Map<String, Object> legacyItem(final int slot) {
+        final Map<String, Object> item = new LinkedHashMap<>();
+        final Map<String, Object> meta = new LinkedHashMap<>();
+        item.put("==", "org.bukkit.inventory.ItemStack");
+        item.put("v", DATA_VERSION);
+
+        if (slot <= 0) {
+            final Map<String, Object> enchants = new LinkedHashMap<>();
+            enchants.put(slot < 0 ? "PROTECTION_ENVIRONMENTAL" : "DAMAGE_ALL", slot < 0 ? 4 : 5);
+            enchants.put("DURABILITY", 3);
+            item.put("type", slot < 0 ? "DIAMOND_CHESTPLATE" : "DIAMOND_SWORD");
+            meta.put("==", "ItemMeta");
+            meta.put("meta-type", "UNSPECIFIC");
+            meta.put("display-name", "{\"extra\":[{\"bold\":true,\"color\":\"aqua\",\"text\":\"Kit Item\"}],\"text\":\"\"}");
+            meta.put("enchants", enchants);
+            meta.put("Unbreakable", true);
+            item.put("meta", meta);
+        } else if (slot < 28) {
+            item.put("type", "SPLASH_POTION");
+            meta.put("==", "ItemMeta");
+            meta.put("meta-type", "POTION");
+            meta.put("potion-type", "minecraft:strong_healing");
+            item.put("meta", meta);
+        } else {
+            item.put("type", slot % 2 == 0 ? "ENDER_PEARL" : "COOKED_BEEF");
+            item.put("amount", 16);
+        }
+
+        return item;
+    }
+
+    // Random payloads sized like the compressed bytes Paper writes for the items above, which need a server to create.
+    private static String compactItem(final Random random) {
+        final byte[] payload = new byte[80 + random.nextInt(80)];
+        random.nextBytes(payload);
+
+        try {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(buffer);
+            out.writeByte(1);
+            out.writeInt(payload.length);
+            out.write(payload);
+            return Base64.getEncoder().encodeToString(buffer.toByteArray());
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int forEachItem(final String json, final ItemReader reader) throws Exception {
+        final Map<String, KitData> data = JsonUtil.getObjectMapper().readValue(json, KITS_TYPE);
+        int read = 0;
+
+        for (final KitData kit : data.values()) {
+            read += reader.read((ItemData) displayedField.get(kit));
+
+            for (final Map<Integer, ItemData> items : ((Map<String, Map<Integer, ItemData>>) itemsField.get(kit)).values()) {
+                for (final ItemData item : items.values()) {
+                    read += reader.read(item);
+                }
+            }
+        }
+
+        return read;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public int legacy() throws Exception {
+        return forEachItem(legacyJson, item -> {
+            final String dumped = YamlUtil.yamlDump(itemField.get(item));
+            return ((Map<String, Object>) YamlUtil.yamlLoad(dumped)).size();
+        });
+    }
+
+    @Benchmark
+    public int compact() throws Exception {
+        return forEachItem(compactJson, item -> {
+            final byte[] bytes = Base64.getDecoder().decode((String) bytesField.get(item));
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            in.readByte();
+            final byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            return payload.length;
+        });
+    }
+
+    private interface ItemReader {
+
+        int read(ItemData item) throws Exception;
+    }
+}
@@ -0,0 +1,562 @@
+package com.meteordevelopments.duels.hook.hooks;
+
+import com.meteordevelopments.duels.util.StringUtil;
+import org.apache.commons.lang.time.DurationFormatUtils;
+import org.bukkit.craftbukkit.StubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Simulates one scoreboard refresh of 500 players requesting 15 placeholders each, which scoreboard plugins run at
+ * 4 Hz. dispatch walks the switch and startsWith/replace chain PlaceholderHook ran on every request before. compiled
+ * uses resolvers cached by identifier and per-tick values for match and queue placeholders, as it does now. Set
+ * requesters to 2 for a scoreboard and a tab plugin requesting the same placeholders in the same tick.
+ * <p>
+ * PlaceholderHook needs a running plugin, so users, matches and queues are modelled by the lookups the plugin does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaceholderBenchmark {
+
+    private static final String[] IDENTIFIERS = {
+            "wins", "losses", "wlr", "rating_NoDebuff", "rank_wins",
+            "getplayersinqueue_NoDebuff", "getplayersplayinginqueue_NoDebuff",
+            "match_duration", "match_kit", "match_arena", "match_bet", "match_rating",
+            "match_opponent", "match_opponent_health", "match_opponent_rating"
+    };
+    private static final String[] KITS = {"NoDebuff", "Gapple", "Archer", "Combo", "BuildUHC"};
+    private static final String USER_NOT_FOUND = "&cUser not found!";
+    private static final String NO_KIT = "&cNone";
+    private static final String NOT_IN_MATCH = "&cNot in match";
+    private static final String NO_OPPONENT = "&cNo opponent";
+    private static final String DURATION_FORMAT = "m:ss";
+    // Ticks between refreshes at 4 Hz.
+    private static final long REFRESH_TICKS = 5L;
+    private static final long PRUNE_INTERVAL = 1200L;
+
+    @Param("500")
+    private int players;
+
+    @Param({"1", "2"})
+    private int requesters;
+
+    private Gamer[] gamers;
+    private final Map<UUID, Stats> users = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> winsRanks = new ConcurrentHashMap<>();
+    private final Map<UUID, Duel> matches = new ConcurrentHashMap<>();
+    private final Map<UUID, Duel> spectators = new ConcurrentHashMap<>();
+    private final Map<String, Kit> kits = new HashMap<>();
+
+    private final Map<String, Function<Gamer, String>> resolvers = new ConcurrentHashMap<>();
+    private final Map<UUID, TickValues> values = new ConcurrentHashMap<>();
+    private long tick;
+    private long lastPrune;
+
+    @Setup
+    public void setup() {
+        StubServer.install();
+
+        final Random random = new Random(0);
+
+        for (final String name : KITS) {
+            kits.put(name, new Kit(name));
+        }
+
+        gamers = new Gamer[players];
+
+        for (int i = 0; i < players; i++) {
+            final Gamer gamer = gamers[i] = new Gamer(new UUID(random.nextLong(), random.nextLong()), "Player" + i, 1 + random.nextInt(20));
+            final Stats stats = new Stats(random.nextInt(500), random.nextInt(500));
+
+            for (final String kit : KITS) {
+                stats.ratings.put(kit, 900 + random.nextInt(300));
+            }
+
+            users.put(gamer.uuid, stats);
+            winsRanks.put(gamer.uuid, i + 1);
+        }
+
+        // 60% of the players are in a match, 40 of the others wait in the queue.
+        final Kit noDebuff = kits.get("NoDebuff");
+        final int inMatch = players * 3 / 5 / 2 * 2;
+
+        for (int i = 0; i < inMatch; i += 2) {
+            final Duel duel = new Duel(System.currentTimeMillis() - random.nextInt(180000), noDebuff, "Arena" + i / 2, 0, Arrays.asList(gamers[i], gamers[i + 1]));
+            matches.put(gamers[i].uuid, duel);
+            matches.put(gamers[i + 1].uuid, duel);
+            noDebuff.queue.matches.incrementAndGet();
+        }
+
+        for (int i = inMatch; i < Math.min(players, inMatch + 40); i++) {
+            noDebuff.queue.add(gamers[i].uuid);
+        }
+    }
+
+    @Benchmark
+    public void dispatch(final Blackhole blackhole) {
+        for (int i = 0; i < requesters; i++) {
+            for (final Gamer gamer : gamers) {
+                for (final String identifier : IDENTIFIERS) {
+                    blackhole.consume(dispatch(gamer, identifier));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void compiled(final Blackhole blackhole) {
+        tick += REFRESH_TICKS;
+
+        for (int i = 0; i < requesters; i++) {
+            for (final Gamer gamer : gamers) {
+                for (final String identifier : IDENTIFIERS) {
+                    blackhole.consume(getResolver(identifier).apply(gamer));
+                }
+            }
+        }
+    }
+
+    // PlaceholderHook.Placeholders#onPlaceholderRequest before identifiers were compiled.
+    private String dispatch(Gamer player, String identifier) {
+        Stats user;
+        switch (identifier) {
+            case "wins":
+                user = users.get(player.uuid);
+                if (user == null) {
+                    return StringUtil.color(USER_NOT_FOUND);
+                }
+                return String.valueOf(user.wins);
+            case "losses":
+                user = users.get(player.uuid);
+                if (user == null) {
+                    return StringUtil.color(USER_NOT_FOUND);
+                }
+                return String.valueOf(user.losses);
+            case "wl_ratio":
+            case "wlr":
+                user = users.get(player.uuid);
+                if (user == null) {
+                    return StringUtil.color(USER_NOT_FOUND);
+                }
+                return String.valueOf(wlr(user.wins, user.losses));
+            case "rank_wins":
+                return String.valueOf(winsRanks.get(player.uuid));
+        }
+
+        if (identifier.startsWith("rating_")) {
+            user = users.get(player.uuid);
+
+            if (user == null) {
+                return StringUtil.color(USER_NOT_FOUND);
+            }
+
+            identifier = identifier.replace("rating_", "");
+
+            if (identifier.equals("-")) {
+                return String.valueOf(user.getRating(null));
+            }
+
+            final Kit kit = kits.get(identifier);
+            return kit != null ? String.valueOf(user.getRating(kit)) : StringUtil.color(NO_KIT);
+        }
+
+        if (identifier.startsWith("getplayersinqueue_")) {
+            user = users.get(player.uuid);
+            if (user == null) {
+                return StringUtil.color(USER_NOT_FOUND);
+            }
+
+            identifier = identifier.replace("getplayersinqueue_", "");
+
+            final Kit kit = kits.get(identifier);
+            if (kit == null) {
+                return StringUtil.color(NO_KIT);
+            }
+
+            int queuedPlayers = kit.queue.getQueuedPlayers().size();
+            return queuedPlayers > 0 ? String.valueOf(queuedPlayers) : "0";
+        }
+
+        if (identifier.startsWith("getplayersplayinginqueue_")) {
+            user = users.get(player.uuid);
+            if (user == null) {
+                return StringUtil.color(USER_NOT_FOUND);
+            }
+            identifier = identifier.replace("getplayersplayinginqueue_", "");
+            final Kit kit = kits.get(identifier);
+            if (kit == null) {
+                return StringUtil.color(NO_KIT);
+            }
+            long playersInMatch = kit.queue.getPlayersInMatch();
+            return Long.toString(playersInMatch);
+        }
+
+        if (identifier.startsWith("match_")) {
+            identifier = identifier.replace("match_", "");
+            Duel match = matches.get(player.uuid);
+
+            if (match == null) {
+                match = spectators.get(player.uuid);
+
+                if (match == null) {
+                    return StringUtil.color(NOT_IN_MATCH);
+                }
+            }
+
+            if (identifier.equalsIgnoreCase("duration")) {
+                return DurationFormatUtils.formatDuration(System.currentTimeMillis() - match.start, DURATION_FORMAT);
+            }
+
+            if (identifier.equalsIgnoreCase("kit")) {
+                return match.kit != null ? match.kit.name : StringUtil.color(NO_KIT);
+            }
+
+            if (identifier.equalsIgnoreCase("arena")) {
+                return match.arena;
+            }
+
+            if (identifier.equalsIgnoreCase("bet")) {
+                return String.valueOf(match.bet);
+            }
+
+            if (identifier.equalsIgnoreCase("rating")) {
+                user = users.get(player.uuid);
+
+                if (user == null) {
+                    return StringUtil.color(USER_NOT_FOUND);
+                }
+
+                return String.valueOf(user.getRating(match.kit));
+            }
+
+            if (identifier.startsWith("opponent")) {
+                Gamer opponent = null;
+
+                for (final Gamer matchPlayer : match.players) {
+                    if (!matchPlayer.equals(player)) {
+                        opponent = matchPlayer;
+                        break;
+                    }
+                }
+
+                if (opponent == null) {
+                    return StringUtil.color(NO_OPPONENT);
+                }
+
+                if (identifier.equalsIgnoreCase("opponent")) {
+                    return opponent.name;
+                }
+
+                if (identifier.endsWith("_health")) {
+                    return String.valueOf(Math.ceil(opponent.health) * 0.5);
+                }
+
+                user = users.get(opponent.uuid);
+
+                if (user == null) {
+                    return StringUtil.color(USER_NOT_FOUND);
+                }
+
+                return String.valueOf(user.getRating(match.kit));
+            }
+        }
+
+        return null;
+    }
+
+    // PlaceholderHook#getResolver and #compile as they are now.
+    private Function<Gamer, String> getResolver(final String identifier) {
+        final Function<Gamer, String> resolver = resolvers.get(identifier);
+
+        if (resolver != null) {
+            return resolver;
+        }
+
+        final Function<Gamer, String> compiled = compile(identifier);
+        resolvers.put(identifier, compiled);
+        return compiled;
+    }
+
+    private Function<Gamer, String> compile(final String identifier) {
+        switch (identifier) {
+            case "wins":
+                return user(user -> String.valueOf(user.wins));
+            case "losses":
+                return user(user -> String.valueOf(user.losses));
+            case "wl_ratio":
+            case "wlr":
+                return user(user -> String.valueOf(wlr(user.wins, user.losses)));
+            case "rank_wins":
+                return player -> String.valueOf(winsRanks.get(player.uuid));
+        }
+
+        if (identifier.startsWith("rating_")) {
+            final String kitName = identifier.substring("rating_".length());
+
+            if (kitName.equals("-")) {
+                return user(user -> String.valueOf(user.getRating(null)));
+            }
+
+            return user(user -> {
+                final Kit kit = kits.get(kitName);
+                return kit != null ? String.valueOf(user.getRating(kit)) : StringUtil.color(NO_KIT);
+            });
+        }
+
+        if (identifier.startsWith("getplayersinqueue_")) {
+            return queue(identifier, identifier.substring("getplayersinqueue_".length()), queue -> String.valueOf(queue.inQueue.get()));
+        }
+
+        if (identifier.startsWith("getplayersplayinginqueue_")) {
+            return queue(identifier, identifier.substring("getplayersplayinginqueue_".length()), queue -> Long.toString(queue.getPlayersInMatch()));
+        }
+
+        if (identifier.startsWith("match_")) {
+            return match(identifier, compileMatch(identifier.substring("match_".length())));
+        }
+
+        return player -> null;
+    }
+
+    private BiFunction<Duel, Gamer, String> compileMatch(final String identifier) {
+        if (identifier.equalsIgnoreCase("duration")) {
+            return (match, player) -> DurationFormatUtils.formatDuration(System.currentTimeMillis() - match.start, DURATION_FORMAT);
+        }
+
+        if (identifier.equalsIgnoreCase("kit")) {
+            return (match, player) -> match.kit != null ? match.kit.name : StringUtil.color(NO_KIT);
+        }
+
+        if (identifier.equalsIgnoreCase("arena")) {
+            return (match, player) -> match.arena;
+        }
+
+        if (identifier.equalsIgnoreCase("bet")) {
+            return (match, player) -> String.valueOf(match.bet);
+        }
+
+        if (identifier.equalsIgnoreCase("rating")) {
+            return this::getRating;
+        }
+
+        if (!identifier.startsWith("opponent")) {
+            return (match, player) -> null;
+        }
+
+        final Function<Gamer, String> value;
+
+        if (identifier.equalsIgnoreCase("opponent")) {
+            value = gamer -> gamer.name;
+        } else if (identifier.endsWith("_health")) {
+            value = opponent -> String.valueOf(Math.ceil(opponent.health) * 0.5);
+        } else {
+            value = null;
+        }
+
+        return (match, player) -> {
+            Gamer opponent = null;
+
+            for (final Gamer matchPlayer : match.players) {
+                if (!matchPlayer.equals(player)) {
+                    opponent = matchPlayer;
+                    break;
+                }
+            }
+
+            if (opponent == null) {
+                return StringUtil.color(NO_OPPONENT);
+            }
+
+            return value != null ? value.apply(opponent) : getRating(match, opponent);
+        };
+    }
+
+    private Function<Gamer, String> user(final Function<Stats, String> function) {
+        return player -> {
+            final Stats user = users.get(player.uuid);
+            return user != null ? function.apply(user) : StringUtil.color(USER_NOT_FOUND);
+        };
+    }
+
+    private Function<Gamer, String> queue(final String identifier, final String kitName, final Function<KitQueue, String> function) {
+        return player -> cached(player, identifier, () -> {
+            if (users.get(player.uuid) == null) {
+                return StringUtil.color(USER_NOT_FOUND);
+            }
+
+            final Kit kit = kits.get(kitName);
+
+            if (kit == null) {
+                return StringUtil.color(NO_KIT);
+            }
+
+            return function.apply(kit.queue);
+        });
+    }
+
+    private Function<Gamer, String> match(final String identifier, final BiFunction<Duel, Gamer, String> function) {
+        return player -> cached(player, identifier, () -> {
+            Duel match = matches.get(player.uuid);
+
+            if (match == null) {
+                match = spectators.get(player.uuid);
+
+                if (match == null) {
+                    return StringUtil.color(NOT_IN_MATCH);
+                }
+            }
+
+            return function.apply(match, player);
+        });
+    }
+
+    private String getRating(final Duel match, final Gamer player) {
+        final Stats user = users.get(player.uuid);
+
+        if (user == null) {
+            return StringUtil.color(USER_NOT_FOUND);
+        }
+
+        return String.valueOf(user.getRating(match.kit));
+    }
+
+    private String cached(final Gamer player, final String identifier, final Supplier<String> supplier) {
+        final long tick = this.tick;
+        final TickValues cache = values.compute(player.uuid, (uuid, current) -> current != null && current.tick == tick ? current : new TickValues(tick));
+
+        if (tick - lastPrune >= PRUNE_INTERVAL) {
+            lastPrune = tick;
+            values.values().removeIf(entry -> entry.tick != tick);
+        }
+
+        synchronized (cache) {
+            if (cache.values.containsKey(identifier)) {
+                return cache.values.get(identifier);
+            }
+
+            final String value = supplier.get();
+            cache.values.put(identifier, value);
+            return value;
+        }
+    }
+
+    private static float wlr(int wins, int losses) {
+        if (wins == 0) {
+            return losses == 0 ? 0.0F : (float) (-losses);
+        } else if (losses == 0) {
+            return (float) wins;
+        } else {
+            return (float) (wins / losses);
+        }
+    }
+
+    private static final class TickValues {
+
+        private final long tick;
+        private final Map<String, String> values = new HashMap<>();
+
+        TickValues(final long tick) {
+            this.tick = tick;
+        }
+    }
+
+    private static final class Gamer {
+
+        private final UUID uuid;
+        private final String name;
+        private final double health;
+
+        Gamer(final UUID uuid, final String name, final double health) {
+            this.uuid = uuid;
+            this.name = name;
+            this.health = health;
+        }
+    }
+
+    private static final class Stats {
+
+        private final int wins;
+        private final int losses;
+        private final Map<String, Integer> ratings = new ConcurrentHashMap<>();
+
+        Stats(final int wins, final int losses) {
+            this.wins = wins;
+            this.losses = losses;
+        }
+
+        int getRating(final Kit kit) {
+            return ratings.getOrDefault(kit != null ? kit.name : "-", 1000);
+        }
+    }
+
+    private static final class Kit {
+
+        private final String name;
+        private final KitQueue queue = new KitQueue();
+
+        Kit(final String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class KitQueue {
+
+        private final List<UUID> players = new ArrayList<>();
+        private final AtomicInteger inQueue = new AtomicInteger();
+        private final AtomicInteger matches = new AtomicInteger();
+
+        void add(final UUID player) {
+            players.add(player);
+            inQueue.incrementAndGet();
+        }
+
+        List<UUID> getQueuedPlayers() {
+            return Collections.unmodifiableList(players.stream().sequential().map(Function.identity()).collect(Collectors.toList()));
+        }
+
+        long getPlayersInMatch() {
+            return matches.get() * 2L;
+        }
+    }
+
+    private static final class Duel {
+
+        private final long start;
+        private final Kit kit;
+        private final String arena;
+        private final int bet;
+        private final List<Gamer> players;
+
+        Duel(final long start, final Kit kit, final String arena, final int bet, final List<Gamer> players) {
+            this.start = start;
+            this.kit = kit;
+            this.arena = arena;
+            this.bet = bet;
+            this.players = players;
+        }
+    }
+}
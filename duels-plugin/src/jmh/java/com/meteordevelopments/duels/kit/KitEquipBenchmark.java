@@ -0,0 +1,116 @@
+package com.meteordevelopments.duels.kit;
+
+import com.meteordevelopments.duels.util.inventory.InventoryUtil;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of equipping a kit to both players of every match started in one tick, as after a queue burst. fillFromMap is
+ * the InventoryUtil#fillFromMap call KitImpl#equip made before, loadout writes the slot-indexed arrays KitImpl now
+ * builds once. The inventory stand-in stores the given items without copying them, so the copy a server inventory
+ * makes is not measured. Items have no meta, as meta needs a running server, which makes the old clones cheaper than
+ * they are for enchanted kit items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KitEquipBenchmark {
+
+    private static final Material[] HOTBAR = {
+            Material.DIAMOND_SWORD, Material.ENDER_PEARL, Material.COOKED_BEEF, Material.GOLDEN_APPLE
+    };
+    private static final Material[] ARMOR = {
+            Material.DIAMOND_HELMET, Material.DIAMOND_CHESTPLATE, Material.DIAMOND_LEGGINGS, Material.DIAMOND_BOOTS
+    };
+
+    @Param("40")
+    private int matches;
+
+    private final Map<String, Map<Integer, ItemStack>> items = new HashMap<>();
+    private ItemStack[] contents;
+    private ItemStack[] armor;
+    private ItemStack[] slots;
+    private PlayerInventory inventory;
+
+    @Setup
+    public void setup() {
+        final Map<Integer, ItemStack> inventoryItems = new HashMap<>();
+
+        for (int slot = 0; slot < 36; slot++) {
+            inventoryItems.put(slot, new ItemStack(slot < HOTBAR.length ? HOTBAR[slot] : Material.SPLASH_POTION, slot == 1 ? 16 : 1));
+        }
+
+        // Armor is stored from helmet at slot 1 to boots at slot 4.
+        final Map<Integer, ItemStack> armorItems = new HashMap<>();
+
+        for (int slot = 1; slot <= 4; slot++) {
+            armorItems.put(slot, new ItemStack(ARMOR[slot - 1]));
+        }
+
+        items.put("INVENTORY", inventoryItems);
+        items.put("ARMOR", armorItems);
+        contents = InventoryUtil.toContents(items);
+        armor = InventoryUtil.toArmor(items);
+
+        slots = new ItemStack[41];
+        inventory = (PlayerInventory) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PlayerInventory.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setItem":
+                    slots[(int) args[0]] = (ItemStack) args[1];
+                    return null;
+                case "setArmorContents":
+                    System.arraycopy((ItemStack[]) args[0], 0, slots, 36, 4);
+                    return null;
+                case "clear":
+                    Arrays.fill(slots, null);
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @Benchmark
+    public ItemStack[] fillFromMap() {
+        for (int i = 0; i < matches * 2; i++) {
+            inventory.clear();
+            InventoryUtil.fillFromMap(inventory, items);
+        }
+
+        return slots;
+    }
+
+    @Benchmark
+    public ItemStack[] loadout() {
+        for (int i = 0; i < matches * 2; i++) {
+            inventory.clear();
+
+            for (int slot = 0; slot < contents.length; slot++) {
+                if (contents[slot] != null) {
+                    inventory.setItem(slot, contents[slot]);
+                }
+            }
+
+            if (armor != null) {
+                inventory.setArmorContents(armor);
+            }
+        }
+
+        return slots;
+    }
+}
@@ -0,0 +1,136 @@
+package com.meteordevelopments.duels.match;
+
+import com.meteordevelopments.duels.benchmark.GridWorld;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of cleaning up a water spill on flat ground, by spill radius. expandingCube is the scan ArenaImpl#endMatch
+ * used to run around the source block. journal records the blocks as BlockTrackingListener does on each flow and
+ * rolls them back with the BlockJournal. Both pour the spill themselves, so that each call starts from the same
+ * world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LiquidCleanupBenchmark {
+
+    private static final int SIZE = 48;
+    private static final int FLOOR = 8;
+    private static final Set<Material> LIQUIDS = EnumSet.of(Material.WATER, Material.LAVA);
+
+    // Horizontal reach of the spill, water flows up to 7 blocks on flat ground.
+    @Param({"1", "4", "7"})
+    private int spill;
+
+    private GridWorld grid;
+    private Block source;
+    // Blocks reached by the spill, in the order the water flows into them.
+    private List<Block> flowed;
+
+    @Setup
+    public void setup() {
+        grid = new GridWorld(SIZE);
+
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                grid.setType(x, FLOOR, z, Material.STONE);
+            }
+        }
+
+        final int center = SIZE / 2;
+        final List<int[]> positions = new ArrayList<>();
+
+        for (int dx = -spill; dx <= spill; dx++) {
+            for (int dz = -spill; dz <= spill; dz++) {
+                if (Math.abs(dx) + Math.abs(dz) <= spill) {
+                    positions.add(new int[]{dx, dz});
+                }
+            }
+        }
+
+        positions.sort(Comparator.comparingInt(position -> Math.abs(position[0]) + Math.abs(position[1])));
+        flowed = new ArrayList<>();
+
+        for (final int[] position : positions) {
+            flowed.add(grid.getBlockAt(center + position[0], FLOOR + 1, center + position[1]));
+        }
+
+        source = flowed.get(0);
+    }
+
+    private void pour() {
+        for (final Block block : flowed) {
+            block.setType(Material.WATER);
+        }
+    }
+
+    @Benchmark
+    public int expandingCube() {
+        pour();
+
+        final Location loc = source.getLocation();
+        int radius = 1;
+        int removed = 0;
+
+        while (true) {
+            boolean waterFound = false;
+
+            for (int x = -radius; x <= radius; x++) {
+                for (int y = -radius; y <= radius; y++) {
+                    for (int z = -radius; z <= radius; z++) {
+                        Block findBlock = loc.clone().add(x, y, z).getBlock();
+                        String type = findBlock.getType().name().toLowerCase();
+
+                        if (type.contains("water") || type.contains("lava") || type.contains("cobblestone") || type.contains("obsidian")) {
+                            waterFound = true;
+                            findBlock.setType(Material.AIR);
+                            removed++;
+                        }
+                    }
+                }
+            }
+
+            if (!waterFound) {
+                break;
+            }
+
+            radius++;
+        }
+
+        return removed;
+    }
+
+    @Benchmark
+    public boolean journal() {
+        final BlockJournal journal = new BlockJournal();
+
+        // The bucket empty records the source, each flow is checked against it before the target is recorded.
+        for (final Block block : flowed) {
+            if (block != source && (!journal.isRecorded(source) || !LIQUIDS.contains(source.getType()))) {
+                continue;
+            }
+
+            journal.record(block);
+            block.setType(Material.WATER);
+        }
+
+        return journal.rollback(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,262 @@
+package com.meteordevelopments.duels.match;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per event cost of the match state queries DuelListener makes for duelling players, with the Player keyed map
+ * DuelMatch used before and the UUID keyed maps and views it keeps now. Both are copies of the state handling of
+ * DuelMatch, as creating one needs a running server. Run with -PjmhProfilers=gc to see the allocation per event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MatchStateBenchmark {
+
+    private static final Method GET_UNIQUE_ID;
+
+    static {
+        try {
+            GET_UNIQUE_ID = Player.class.getMethod("getUniqueId");
+        } catch (NoSuchMethodException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    // A duel and a party duel.
+    @Param({"2", "10"})
+    private int players;
+
+    private LegacyState legacy;
+    private MatchState state;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        final Map<UUID, List<ItemStack>> items = new HashMap<>();
+        legacy = new LegacyState(items);
+        state = new MatchState(items);
+
+        for (int i = 0; i < players; i++) {
+            final Player player = player(new UUID(0, i));
+            legacy.addPlayer(player);
+            state.addPlayer(player);
+            items.put(player.getUniqueId(), Arrays.asList(new ItemStack(Material.DIAMOND_SWORD), new ItemStack(Material.GOLDEN_APPLE, 8)));
+
+            if (i == 0) {
+                this.player = player;
+            }
+        }
+
+        final Player dead = player(new UUID(0, players - 1));
+        legacy.markAsDead(dead);
+        state.markAsDead(dead);
+    }
+
+    // Player stand-in with the identity of a CraftPlayer, equal by UUID.
+    private static Player player(final UUID uuid) {
+        return (Player) Proxy.newProxyInstance(MatchStateBenchmark.class.getClassLoader(), new Class<?>[]{Player.class}, (proxy, method, args) -> {
+            // Checked first, as it is the only call the new state makes.
+            if (method.equals(GET_UNIQUE_ID)) {
+                return uuid;
+            }
+
+            switch (method.getName()) {
+                case "equals":
+                    return args[0] instanceof Player && uuid.equals(((Player) args[0]).getUniqueId());
+                case "hashCode":
+                    return uuid.hashCode();
+                case "toString":
+                    return uuid.toString();
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    // ArenaImpl#isEndGame
+    @Benchmark
+    public boolean legacyEndGame() {
+        return legacy.size() <= 1;
+    }
+
+    @Benchmark
+    public boolean endGame() {
+        return state.size() <= 1;
+    }
+
+    @Benchmark
+    public boolean legacyIsDead() {
+        return legacy.isDead(player);
+    }
+
+    @Benchmark
+    public boolean isDead() {
+        return state.isDead(player);
+    }
+
+    // Match#getPlayers as used by API consumers.
+    @Benchmark
+    public boolean legacyPlayers() {
+        return legacy.getPlayers().contains(player);
+    }
+
+    @Benchmark
+    public boolean players() {
+        return state.getPlayers().contains(player);
+    }
+
+    @Benchmark
+    public int legacyItems() {
+        return legacy.getItems().size();
+    }
+
+    @Benchmark
+    public int items() {
+        return state.getItems().size();
+    }
+
+    // DuelMatch before the state was kept by UUID.
+    private static class LegacyState {
+
+        private final Map<UUID, List<ItemStack>> items;
+        // Default value for players is false, which is set to true if player is killed in the match.
+        private final Map<Player, Boolean> players = new HashMap<>();
+
+        LegacyState(final Map<UUID, List<ItemStack>> items) {
+            this.items = items;
+        }
+
+        void addPlayer(final Player player) {
+            players.put(player, false);
+        }
+
+        void markAsDead(final Player player) {
+            if (players.containsKey(player)) {
+                players.put(player, true);
+            }
+        }
+
+        boolean isDead(final Player player) {
+            return players.getOrDefault(player, true);
+        }
+
+        Set<Player> getAlivePlayers() {
+            return players.entrySet().stream().filter(entry -> !entry.getValue()).map(Entry::getKey).collect(Collectors.toSet());
+        }
+
+        int size() {
+            return getAlivePlayers().size();
+        }
+
+        List<ItemStack> getItems() {
+            return items != null ? items.values().stream().flatMap(Collection::stream).collect(Collectors.toList()) : Collections.emptyList();
+        }
+
+        Set<Player> getPlayers() {
+            return Collections.unmodifiableSet(getAlivePlayers());
+        }
+    }
+
+    // DuelMatch now.
+    private static class MatchState {
+
+        private final Map<UUID, List<ItemStack>> items;
+        private final Map<UUID, Player> players = new HashMap<>();
+        private final Map<UUID, Player> alive = new HashMap<>();
+        private final Set<Player> aliveView = new PlayerView(alive);
+
+        MatchState(final Map<UUID, List<ItemStack>> items) {
+            this.items = items;
+        }
+
+        void addPlayer(final Player player) {
+            players.put(player.getUniqueId(), player);
+            alive.put(player.getUniqueId(), player);
+        }
+
+        void markAsDead(final Player player) {
+            alive.remove(player.getUniqueId());
+        }
+
+        boolean isDead(final Player player) {
+            return !alive.containsKey(player.getUniqueId());
+        }
+
+        int size() {
+            return alive.size();
+        }
+
+        List<ItemStack> getItems() {
+            if (items == null) {
+                return Collections.emptyList();
+            }
+
+            int size = 0;
+
+            for (final List<ItemStack> bet : items.values()) {
+                size += bet.size();
+            }
+
+            final List<ItemStack> result = new ArrayList<>(size);
+            items.values().forEach(result::addAll);
+            return result;
+        }
+
+        Set<Player> getPlayers() {
+            return aliveView;
+        }
+    }
+
+    private static class PlayerView extends AbstractSet<Player> {
+
+        private final Map<UUID, Player> players;
+        private final Collection<Player> values;
+
+        PlayerView(final Map<UUID, Player> players) {
+            this.players = players;
+            this.values = Collections.unmodifiableCollection(players.values());
+        }
+
+        @Override
+        public Iterator<Player> iterator() {
+            return values.iterator();
+        }
+
+        @Override
+        public int size() {
+            return players.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof Player && players.containsKey(((Player) o).getUniqueId());
+        }
+    }
+}
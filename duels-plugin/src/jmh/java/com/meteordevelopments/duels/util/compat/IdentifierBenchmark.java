@@ -0,0 +1,201 @@
+package com.meteordevelopments.duels.util.compat;
+
+import org.bukkit.NamespacedKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the kit item check KitItemListener makes for the clicked item of each InventoryClickEvent, before and after
+ * the key was cached, the no-meta check was added and the legacy NBT path moved to MethodHandles. Items and their tags
+ * are stand-ins, as both need a running server: the meta copy of Identifiers#hasIdentifier is modelled as a copy of the
+ * item's tag map, and the pre-1.14 path calls the same methods on stand-in CraftItemStack, NMS item and tag classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdentifierBenchmark {
+
+    private static final String PLUGIN_NAME = "Duels";
+    private static final String DUELS_ITEM_IDENTIFIER = "DuelsKitContent";
+    private static final NamespacedKey IDENTIFIER = key();
+
+    private static final Method AS_NMS_COPY;
+    private static final Method GET_TAG;
+    private static final Method HAS_KEY;
+
+    private static final MethodHandle GET_HANDLE;
+    private static final MethodHandle GET_TAG_HANDLE;
+    private static final MethodHandle HAS_KEY_HANDLE;
+
+    static {
+        try {
+            AS_NMS_COPY = CraftItem.class.getMethod("asNMSCopy", CraftItem.class);
+            GET_TAG = NmsItem.class.getMethod("getTag");
+            HAS_KEY = NmsTag.class.getMethod("hasKey", String.class);
+
+            final Field handle = CraftItem.class.getDeclaredField("handle");
+            handle.setAccessible(true);
+            GET_HANDLE = MethodHandles.lookup().unreflectGetter(handle);
+            GET_TAG_HANDLE = MethodHandles.lookup().unreflect(GET_TAG);
+            HAS_KEY_HANDLE = MethodHandles.lookup().unreflect(HAS_KEY);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    // plain items have no meta, meta items carry unrelated data such as enchantments, kit items carry the identifier.
+    @Param({"plain", "meta", "kit"})
+    private String item;
+
+    private CraftItem craftItem;
+
+    @Setup
+    public void setup() {
+        final NmsTag tag;
+
+        switch (item) {
+            case "plain":
+                tag = null;
+                break;
+            case "meta":
+                tag = new NmsTag();
+                tag.values.put("Enchantments", "[{id:\"minecraft:sharpness\",lvl:5s}]");
+                tag.values.put("Unbreakable", "1b");
+                break;
+            case "kit":
+                tag = new NmsTag();
+                tag.values.put("Enchantments", "[{id:\"minecraft:sharpness\",lvl:5s}]");
+                tag.values.put("Unbreakable", "1b");
+                tag.values.put(DUELS_ITEM_IDENTIFIER, "true");
+                tag.values.put(IDENTIFIER.toString(), "1b");
+                break;
+            default:
+                throw new IllegalArgumentException(item);
+        }
+
+        craftItem = new CraftItem(new NmsItem("minecraft:diamond_sword", 1, tag));
+    }
+
+    // NamespacedKey(Plugin, String) as Identifiers called it on every check.
+    private static NamespacedKey key() {
+        return new NamespacedKey(PLUGIN_NAME.toLowerCase(Locale.ROOT), DUELS_ITEM_IDENTIFIER.toLowerCase(Locale.ROOT));
+    }
+
+    // ItemStack#getItemMeta, which returns an empty meta for items without one.
+    private static Map<String, String> copyMeta(final CraftItem item) {
+        final NmsTag tag = item.handle.tag;
+        return tag != null ? new HashMap<>(tag.values) : new HashMap<>();
+    }
+
+    @Benchmark
+    public boolean keyPerCall() {
+        final NamespacedKey key = key();
+        return copyMeta(craftItem).containsKey(key.toString());
+    }
+
+    @Benchmark
+    public boolean cachedKey() {
+        if (!craftItem.hasItemMeta()) {
+            return false;
+        }
+
+        return copyMeta(craftItem).containsKey(IDENTIFIER.toString());
+    }
+
+    // NBT#hasItemKey before, which copies the NMS item on every call.
+    @Benchmark
+    public boolean reflection() throws Exception {
+        final Object nmsItem = AS_NMS_COPY.invoke(null, craftItem);
+
+        if (nmsItem == null) {
+            return false;
+        }
+
+        final Object tag = GET_TAG.invoke(nmsItem);
+        return tag != null && (boolean) HAS_KEY.invoke(tag, DUELS_ITEM_IDENTIFIER);
+    }
+
+    @Benchmark
+    public boolean methodHandles() throws Throwable {
+        if (!craftItem.hasItemMeta()) {
+            return false;
+        }
+
+        final Object nmsItem = GET_HANDLE.invoke(craftItem);
+
+        if (nmsItem == null) {
+            return false;
+        }
+
+        final Object tag = GET_TAG_HANDLE.invoke(nmsItem);
+        return tag != null && (boolean) HAS_KEY_HANDLE.invoke(tag, DUELS_ITEM_IDENTIFIER);
+    }
+
+    public static final class CraftItem {
+
+        private final NmsItem handle;
+
+        CraftItem(final NmsItem handle) {
+            this.handle = handle;
+        }
+
+        public static NmsItem asNMSCopy(final CraftItem item) {
+            return item.handle.copy();
+        }
+
+        public boolean hasItemMeta() {
+            return handle.tag != null && !handle.tag.values.isEmpty();
+        }
+    }
+
+    public static final class NmsItem {
+
+        private final String type;
+        private final int count;
+        private final NmsTag tag;
+
+        NmsItem(final String type, final int count, final NmsTag tag) {
+            this.type = type;
+            this.count = count;
+            this.tag = tag;
+        }
+
+        public NmsTag getTag() {
+            return tag;
+        }
+
+        NmsItem copy() {
+            return new NmsItem(type, count, tag != null ? tag.copy() : null);
+        }
+    }
+
+    public static final class NmsTag {
+
+        private final Map<String, String> values = new HashMap<>();
+
+        public boolean hasKey(final String key) {
+            return values.containsKey(key);
+        }
+
+        NmsTag copy() {
+            final NmsTag copy = new NmsTag();
+            copy.values.putAll(values);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.bukkit.craftbukkit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+/**
+ * Server stand-in for benchmarks of code that reads the server version when loaded, such as ReflectionUtil. Only
+ * version and logger methods are supported. The proxy class is defined in this package, which is read as the
+ * unversioned CraftBukkit package of recent Paper builds.
+ */
+public final class StubServer {
+
+    private static final String VERSION = "1.20.1-R0.1-SNAPSHOT";
+    private static final Logger LOGGER = Logger.getLogger("StubServer");
+
+    private StubServer() {
+    }
+
+    public static synchronized void install() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+
+        final Server server = (Server) Proxy.newProxyInstance(StubServer.class.getClassLoader(), new Class<?>[]{LocalServer.class}, StubServer::invoke);
+
+        // Bukkit#setServer logs version information this stand-in cannot provide.
+        try {
+            final Field field = Bukkit.class.getDeclaredField("server");
+            field.setAccessible(true);
+            field.set(null, server);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Could not install the stub server", ex);
+        }
+    }
+
+    private static Object invoke(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "getName":
+                return "StubServer";
+            case "getVersion":
+            case "getBukkitVersion":
+                return VERSION;
+            case "getLogger":
+                return LOGGER;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "StubServer";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    // Not public, so that the proxy class is defined in this package.
+    interface LocalServer extends Server {
+    }
+}
@@ -116,6 +116,8 @@ public class DuelsPlugin extends JavaPlugin implements Duels, LogSource {
     private ValidatorManager validatorManager;
     @Getter
     private com.meteordevelopments.duels.replay.ReplayManager replayManager;
+    @Getter
+    private TimerWheel timerWheel;
     private static final Logger LOGGER = Logger.getLogger("[Duels-Optimised]");
 
     @Override
@@ -131,6 +133,7 @@ public class DuelsPlugin extends JavaPlugin implements Duels, LogSource {
         long start = System.currentTimeMillis();
 
         loadLogManager();
+        timerWheel = new TimerWheel(this);
         initLoadables();
         loadPreListeners();
 
@@ -508,6 +511,7 @@ public class DuelsPlugin extends JavaPlugin implements Duels, LogSource {
         new EnderpearlListener(this);
         new KitOptionsListener(this);
         new LingerPotionListener(this);
+        new BlockTrackingListener(this);
 
         sendMessage("&dSuccessfully loaded pre-listeners in &f[" + CC.getTimeDifferenceAndColor(start, System.currentTimeMillis()) + "&f]");
     }
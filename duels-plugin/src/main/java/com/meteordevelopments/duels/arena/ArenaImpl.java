@@ -2,10 +2,12 @@ package com.meteordevelopments.duels.arena;
 
 import com.meteordevelopments.duels.countdown.DuelCountdown;
 import com.meteordevelopments.duels.countdown.party.PartyDuelCountdown;
+import com.meteordevelopments.duels.match.BlockJournal;
 import com.meteordevelopments.duels.match.DuelMatch;
 import com.meteordevelopments.duels.match.party.PartyDuelMatch;
 import com.meteordevelopments.duels.party.Party;
 import com.meteordevelopments.duels.spectate.SpectatorImpl;
+import io.papermc.lib.PaperLib;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,20 +21,20 @@ import com.meteordevelopments.duels.gui.BaseButton;
 import com.meteordevelopments.duels.kit.KitImpl;
 import com.meteordevelopments.duels.queue.Queue;
 import com.meteordevelopments.duels.setting.Settings;
+import com.meteordevelopments.duels.util.compat.CompatUtil;
 import com.meteordevelopments.duels.util.compat.Items;
 import com.meteordevelopments.duels.util.function.Pair;
 import com.meteordevelopments.duels.util.inventory.ItemBuilder;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.BlockData;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import space.arim.morepaperlib.scheduling.ScheduledTask;
 
 import java.util.*;
 
@@ -43,11 +45,25 @@ public class ArenaImpl extends BaseButton implements Arena {
     private boolean disabled;
     private final Set<KitImpl> kits = new HashSet<>();
     private final Map<Integer, Location> positions = new HashMap<>();
+    // Corners of the arena bounds, the region around the positions is used if not set.
+    private final Map<Integer, Location> bounds = new HashMap<>();
+    @Getter(value = AccessLevel.NONE)
+    private ArenaRegion region;
     private DuelMatch match;
     @Setter(value = AccessLevel.PACKAGE)
     private boolean removed;
     @Setter
     private DuelCountdown countdown;
+    // Blocks of the last match that are still being restored.
+    @Getter(value = AccessLevel.NONE)
+    private BlockJournal rollback;
+    @Getter(value = AccessLevel.NONE)
+    private ScheduledTask rollbackTask;
+    // Chunks at the positions, kept loaded from the start of a match until its blocks are restored.
+    @Getter(value = AccessLevel.NONE)
+    private final List<Location> heldChunks = new ArrayList<>();
+    @Getter(value = AccessLevel.NONE)
+    private boolean holdingChunks;
 
     public ArenaImpl(final DuelsPlugin plugin, final String name, final boolean disabled) {
         super(plugin, ItemBuilder
@@ -92,6 +108,7 @@ public class ArenaImpl extends BaseButton implements Arena {
 
         positions.put(event.getPos(), event.getLocation());
         arenaManager.saveArenas();
+        arenaManager.reindex();
         refreshGui(isAvailable());
         return true;
     }
@@ -101,6 +118,48 @@ public class ArenaImpl extends BaseButton implements Arena {
         return setPosition(null, pos, location);
     }
 
+    public boolean setBound(final int corner, @NotNull final Location location) {
+        Objects.requireNonNull(location, "location");
+
+        if (corner <= 0 || corner > 2) {
+            return false;
+        }
+
+        bounds.put(corner, location);
+        arenaManager.saveArenas();
+        arenaManager.reindex();
+        return true;
+    }
+
+    public void clearBounds() {
+        bounds.clear();
+        arenaManager.saveArenas();
+        arenaManager.reindex();
+    }
+
+    /**
+     * @return region in which block changes are tracked, the bounds if both corners are set or the area around the
+     * positions otherwise. Null if neither is complete.
+     */
+    @Nullable
+    public ArenaRegion getRegion() {
+        return region;
+    }
+
+    void updateRegion() {
+        final Location firstCorner = bounds.get(1);
+        final Location secondCorner = bounds.get(2);
+
+        if (firstCorner != null && secondCorner != null) {
+            this.region = ArenaRegion.of(firstCorner, secondCorner, 0);
+            return;
+        }
+
+        final Location first = getPosition(1);
+        final Location second = getPosition(2);
+        this.region = first != null && second != null ? ArenaRegion.of(first, second, config.getArenaTrackingRadius()) : null;
+    }
+
     @Override
     public boolean setDisabled(@Nullable final CommandSender source, final boolean disabled) {
         final ArenaStateChangeEvent event = new ArenaStateChangeEvent(source, this, disabled);
@@ -144,76 +203,143 @@ public class ArenaImpl extends BaseButton implements Arena {
     }
 
     public boolean isAvailable() {
-        return !isDisabled() && !isUsed() && getPosition(1) != null && getPosition(2) != null;
+        return !isDisabled() && !isUsed() && rollback == null && getPosition(1) != null && getPosition(2) != null;
+    }
+
+    public boolean isRollingBack() {
+        return rollback != null;
+    }
+
+    /**
+     * @return true if the block is inside the arena region, so that its changes can be rolled back.
+     */
+    public boolean isTracked(final Block block) {
+        final ArenaRegion region = this.region;
+        return region != null && region.contains(block);
     }
 
     public DuelMatch startMatch(final KitImpl kit, final Map<UUID, List<ItemStack>> items, final Settings settings, final Queue source) {
         this.match = settings.isPartyDuel() ? new PartyDuelMatch(plugin, this, kit, items, settings.getBet(), source) : new DuelMatch(plugin, this, kit, items, settings.getBet(), source);
         refreshGui(false);
+
+        if (source != null) {
+            source.onMatchStart();
+        }
+
+        holdChunks();
         return match;
     }
 
-    public void endMatch(final UUID winner, final UUID loser, final Reason reason) {
-        spectateManager.stopSpectating(this);
+    /**
+     * Loads the chunks at the positions without blocking and keeps them loaded until {@link #releaseChunks()}, so
+     * that teleports into the arena and the rollback after the match do not load chunks on the server thread.
+     */
+    private void holdChunks() {
+        if (CompatUtil.isPre1_14()) {
+            return;
+        }
 
-        final MatchEndEvent event = new MatchEndEvent(match, winner, loser, reason);
-        Bukkit.getPluginManager().callEvent(event);
+        synchronized (heldChunks) {
+            holdingChunks = true;
+        }
 
-        final Queue source = match.getSource();
-        match.setFinished();
+        for (final Location position : positions.values()) {
+            if (position.getWorld() == null) {
+                continue;
+            }
 
-        for(Block block : match.placedBlocks) {
-            block.setType(Material.AIR);
-        }
+            PaperLib.getChunkAtAsync(position).thenAccept(chunk -> {
+                if (chunk == null) {
+                    return;
+                }
 
-        for(Map.Entry<Location, BlockData> map : match.brokenBlocks.entrySet()) {
-            map.getKey().getBlock().setBlockData(map.getValue());
+                synchronized (heldChunks) {
+                    // Match may have ended before the chunk finished loading.
+                    if (holdingChunks && chunk.addPluginChunkTicket(plugin)) {
+                        heldChunks.add(position);
+                    }
+                }
+            });
         }
+    }
 
-        for (Entity entity : match.placedEntities){
-            entity.remove();
+    private void releaseChunks() {
+        final List<Location> chunks;
+
+        synchronized (heldChunks) {
+            holdingChunks = false;
+            chunks = new ArrayList<>(heldChunks);
+            heldChunks.clear();
         }
 
-        for (Block block : match.liquids) {
-            Location loc = block.getLocation();
-            int radius = 1;
+        // Tickets of a disabled plugin are removed by the server.
+        if (chunks.isEmpty() || !plugin.isEnabled()) {
+            return;
+        }
 
-            while (true) {
-                boolean waterFound = false;
+        for (final Location position : chunks) {
+            DuelsPlugin.getMorePaperLib().scheduling().regionSpecificScheduler(position).run(() ->
+                    position.getWorld().removePluginChunkTicket(position.getBlockX() >> 4, position.getBlockZ() >> 4, plugin));
+        }
+    }
 
-                for (int x = -radius; x <= radius; x++) {
-                    for (int y = -radius; y <= radius; y++) {
-                        for (int z = -radius; z <= radius; z++) {
-                            Block findBlock = loc.clone().add(x, y, z).getBlock();
-                            String type = findBlock.getType().name().toLowerCase();
+    public void endMatch(final UUID winner, final UUID loser, final Reason reason) {
+        spectateManager.stopSpectating(this);
 
-                            if (type.contains("water") || type.contains("lava") || type.contains("cobblestone") || type.contains("obsidian")) {
-                                waterFound = true;
-                                findBlock.setType(Material.AIR);
-                            }
-                        }
-                    }
-                }
+        final MatchEndEvent event = new MatchEndEvent(match, winner, loser, reason);
+        Bukkit.getPluginManager().callEvent(event);
 
-                if (!waterFound) {
-                    break;
-                }
+        final Queue source = match.getSource();
+        match.setFinished();
 
-                radius++;
-            }
+        for (Entity entity : match.placedEntities){
+            entity.remove();
         }
 
         if(config.isClearItemsAfterMatch()) {
             match.droppedItems.forEach(Entity::remove);
         }
 
+        match.getAllPlayers().forEach(player -> arenaManager.unindex(player, this));
+
+        final BlockJournal journal = match.getBlockJournal();
         match = null;
 
         if (source != null) {
-            source.update();
-            queueManager.getGui().calculatePages();
+            source.onMatchEnd();
+        }
+
+        // Restore as much as the budget allows right away and spread the rest over the following ticks
+        if (!journal.rollback(config.getArenaRollbackBlocksPerTick())) {
+            this.rollback = journal;
+            // Blocks are changed on the arena's region thread, since the global scheduler does not own them on Folia.
+            this.rollbackTask = DuelsPlugin.getMorePaperLib().scheduling().regionSpecificScheduler(getPosition(1)).runAtFixedRate(() -> {
+                if (rollback != null && rollback.rollback(config.getArenaRollbackBlocksPerTick())) {
+                    completeRollback();
+                }
+            }, 1L, 1L);
+            return;
         }
 
+        releaseChunks();
+        refreshGui(true);
+    }
+
+    /**
+     * Restores all remaining blocks of the last match at once.
+     */
+    void finishRollback() {
+        if (rollback != null) {
+            rollback.rollback(Integer.MAX_VALUE);
+            completeRollback();
+        }
+    }
+
+    private void completeRollback() {
+        plugin.cancelTask(rollbackTask);
+        rollbackTask = null;
+        rollback = null;
+        releaseChunks();
         refreshGui(true);
     }
 
@@ -235,12 +361,14 @@ public class ArenaImpl extends BaseButton implements Arena {
     public void add(final Player player) {
         if (isUsed()) {
             match.addPlayer(player);
+            arenaManager.index(player, this);
         }
     }
 
     public void remove(final Player player) {
         if (isUsed()) {
             match.markAsDead(player);
+            arenaManager.unindex(player, this);
         }
     }
 
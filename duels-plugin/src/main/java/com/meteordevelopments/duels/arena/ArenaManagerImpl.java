@@ -12,7 +12,6 @@ import com.meteordevelopments.duels.config.Config;
 import com.meteordevelopments.duels.config.Lang;
 import com.meteordevelopments.duels.data.ArenaData;
 import com.meteordevelopments.duels.kit.KitImpl;
-import com.meteordevelopments.duels.queue.Queue;
 import com.meteordevelopments.duels.util.Loadable;
 import com.meteordevelopments.duels.util.Log;
 import com.meteordevelopments.duels.util.StringUtil;
@@ -24,6 +23,7 @@ import com.meteordevelopments.duels.util.json.JsonUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -38,6 +38,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
@@ -48,12 +49,20 @@ public class ArenaManagerImpl implements Loadable, ArenaManager {
     private static final String ERROR_NOT_ALPHANUMERIC = "&c&lCould not load arena %s: Name is not alphanumeric.";
     private static final String ARENAS_LOADED = "&2Loaded %s arena(s).";
 
+    // Regions spanning more chunks than this are checked one by one instead of being indexed.
+    private static final int MAX_INDEXED_CHUNKS = 4096;
+
     private final DuelsPlugin plugin;
     private final Config config;
     private final Lang lang;
     private final File file;
 
     private final List<ArenaImpl> arenas = new ArrayList<>();
+    // Maps players alive in a match to their arena. Maintained by ArenaImpl to avoid scanning every arena on lookup.
+    private final Map<UUID, ArenaImpl> playerToArena = new ConcurrentHashMap<>();
+    // Maps world and chunk keys to arenas whose region overlaps the chunk. Rebuilt and replaced whenever a region changes.
+    private volatile Map<UUID, Map<Long, List<ArenaImpl>>> chunkIndex = Collections.emptyMap();
+    private volatile List<ArenaImpl> unindexed = Collections.emptyList();
 
     @Getter
     private MultiPageGui<DuelsPlugin> gui;
@@ -71,6 +80,7 @@ public class ArenaManagerImpl implements Loadable, ArenaManager {
     public void handleLoad() throws IOException {
         gui = new MultiPageGui<>(plugin, lang.getMessage("GUI.arena-selector.title"), config.getArenaSelectorRows(), arenas);
         gui.setSpaceFiller(Items.from(config.getArenaSelectorFillerType(), config.getArenaSelectorFillerData()));
+        gui.setRebuildScheduler(plugin::doSync);
         gui.setPrevButton(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.kit-selector.buttons.previous-page.name")).build());
         gui.setNextButton(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.kit-selector.buttons.next-page.name")).build());
         gui.setEmptyIndicator(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.kit-selector.buttons.empty.name")).build());
@@ -94,6 +104,7 @@ public class ArenaManagerImpl implements Loadable, ArenaManager {
             }
         }
 
+        reindex();
         DuelsPlugin.sendMessage(String.format(ARENAS_LOADED, arenas.size()));
         gui.calculatePages();
     }
@@ -104,7 +115,11 @@ public class ArenaManagerImpl implements Loadable, ArenaManager {
             plugin.getGuiListener().removeGui(gui);
         }
 
+        arenas.forEach(ArenaImpl::finishRollback);
         arenas.clear();
+        playerToArena.clear();
+        chunkIndex = Collections.emptyMap();
+        unindexed = Collections.emptyList();
     }
 
     void saveArenas() {
@@ -133,7 +148,96 @@ public class ArenaManagerImpl implements Loadable, ArenaManager {
     @Override
     public ArenaImpl get(@NotNull final Player player) {
         Objects.requireNonNull(player, "player");
-        return arenas.stream().filter(arena -> arena.has(player)).findFirst().orElse(null);
+        final ArenaImpl arena = playerToArena.get(player.getUniqueId());
+        // Players may be marked as dead by the match directly without passing through ArenaImpl#remove.
+        return arena != null && arena.has(player) ? arena : null;
+    }
+
+    /**
+     * @return arena whose region contains the given location or null if there is none.
+     */
+    @Nullable
+    public ArenaImpl getAt(@NotNull final Location location) {
+        Objects.requireNonNull(location, "location");
+
+        if (location.getWorld() == null) {
+            return null;
+        }
+
+        return find(location.getWorld().getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ(), false);
+    }
+
+    /**
+     * @return arena with an ongoing match or rollback that tracks changes of the given block or null if there is none.
+     */
+    @Nullable
+    public ArenaImpl getTracking(@NotNull final Block block) {
+        Objects.requireNonNull(block, "block");
+        return find(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ(), true);
+    }
+
+    private ArenaImpl find(final UUID world, final int x, final int y, final int z, final boolean active) {
+        final Map<Long, List<ArenaImpl>> chunks = chunkIndex.get(world);
+        final List<ArenaImpl> indexed = chunks != null ? chunks.get(chunkKey(x >> 4, z >> 4)) : null;
+
+        if (indexed != null) {
+            for (final ArenaImpl arena : indexed) {
+                if (matches(arena, world, x, y, z, active)) {
+                    return arena;
+                }
+            }
+        }
+
+        for (final ArenaImpl arena : unindexed) {
+            if (matches(arena, world, x, y, z, active)) {
+                return arena;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean matches(final ArenaImpl arena, final UUID world, final int x, final int y, final int z, final boolean active) {
+        final ArenaRegion region = arena.getRegion();
+        return region != null && (!active || arena.isUsed() || arena.isRollingBack()) && region.contains(world, x, y, z);
+    }
+
+    /**
+     * Recalculates arena regions and rebuilds the chunk index. Called whenever positions or bounds of an arena change.
+     */
+    void reindex() {
+        final Map<UUID, Map<Long, List<ArenaImpl>>> index = new HashMap<>();
+        final List<ArenaImpl> large = new ArrayList<>();
+
+        for (final ArenaImpl arena : arenas) {
+            arena.updateRegion();
+
+            final ArenaRegion region = arena.getRegion();
+
+            if (region == null) {
+                continue;
+            }
+
+            if (region.getChunkCount() > MAX_INDEXED_CHUNKS) {
+                large.add(arena);
+                continue;
+            }
+
+            final Map<Long, List<ArenaImpl>> chunks = index.computeIfAbsent(region.getWorld(), world -> new HashMap<>());
+
+            for (int chunkX = region.getMinChunkX(); chunkX <= region.getMaxChunkX(); chunkX++) {
+                for (int chunkZ = region.getMinChunkZ(); chunkZ <= region.getMaxChunkZ(); chunkZ++) {
+                    chunks.computeIfAbsent(chunkKey(chunkX, chunkZ), key -> new ArrayList<>(1)).add(arena);
+                }
+            }
+        }
+
+        this.chunkIndex = index;
+        this.unindexed = large;
+    }
+
+    private static long chunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkX & 0xFFFFFFFFL) | (((long) chunkZ & 0xFFFFFFFFL) << 32);
     }
 
     @Override
@@ -167,6 +271,7 @@ public class ArenaManagerImpl implements Loadable, ArenaManager {
         if (arenas.remove(arena)) {
             arena.setRemoved(true);
             saveArenas();
+            reindex();
 
             final ArenaRemoveEvent event = new ArenaRemoveEvent(source, arena);
             Bukkit.getPluginManager().callEvent(event);
@@ -177,6 +282,14 @@ public class ArenaManagerImpl implements Loadable, ArenaManager {
         return false;
     }
 
+    void index(final Player player, final ArenaImpl arena) {
+        playerToArena.put(player.getUniqueId(), arena);
+    }
+
+    void unindex(final Player player, final ArenaImpl arena) {
+        playerToArena.remove(player.getUniqueId(), arena);
+    }
+
     public List<ArenaImpl> getArenasImpl() {
         return arenas;
     }
@@ -185,10 +298,6 @@ public class ArenaManagerImpl implements Loadable, ArenaManager {
         return arenas.stream().flatMap(arena -> arena.getPlayers().stream()).collect(Collectors.toSet());
     }
 
-    public long getPlayersInMatch(final Queue queue) {
-        return arenas.stream().filter(arena -> arena.isUsed() && arena.getMatch().isFromQueue() && arena.getMatch().getSource().equals(queue)).count() * 2;
-    }
-
     public boolean isSelectable(@Nullable final KitImpl kit, @NotNull final ArenaImpl arena) {
         if (!arena.isAvailable()) {
             return false;
@@ -0,0 +1,80 @@
+package com.meteordevelopments.duels.arena;
+
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.UUID;
+
+/**
+ * Cuboid of blocks in a single world, bounds are inclusive.
+ */
+@Getter
+public final class ArenaRegion {
+
+    private final UUID world;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+
+    private ArenaRegion(final UUID world, final int minX, final int minY, final int minZ, final int maxX, final int maxY, final int maxZ) {
+        this.world = world;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * @return region spanning both locations expanded by the given amount of blocks or null if they are not in the same world.
+     */
+    static ArenaRegion of(final Location first, final Location second, final int expand) {
+        final World world = first.getWorld();
+
+        if (world == null || !world.equals(second.getWorld())) {
+            return null;
+        }
+
+        return new ArenaRegion(world.getUID(),
+                Math.min(first.getBlockX(), second.getBlockX()) - expand,
+                Math.min(first.getBlockY(), second.getBlockY()) - expand,
+                Math.min(first.getBlockZ(), second.getBlockZ()) - expand,
+                Math.max(first.getBlockX(), second.getBlockX()) + expand,
+                Math.max(first.getBlockY(), second.getBlockY()) + expand,
+                Math.max(first.getBlockZ(), second.getBlockZ()) + expand);
+    }
+
+    public boolean contains(final UUID world, final int x, final int y, final int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ && this.world.equals(world);
+    }
+
+    public boolean contains(final Block block) {
+        return contains(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+    }
+
+    public boolean contains(final Location location) {
+        return location.getWorld() != null && contains(location.getWorld().getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public int getMinChunkX() {
+        return minX >> 4;
+    }
+
+    public int getMinChunkZ() {
+        return minZ >> 4;
+    }
+
+    public int getMaxChunkX() {
+        return maxX >> 4;
+    }
+
+    public int getMaxChunkZ() {
+        return maxZ >> 4;
+    }
+
+    public long getChunkCount() {
+        return (long) (getMaxChunkX() - getMinChunkX() + 1) * (getMaxChunkZ() - getMinChunkZ() + 1);
+    }
+}
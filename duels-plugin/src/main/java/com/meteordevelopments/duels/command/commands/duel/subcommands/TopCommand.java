@@ -29,9 +29,9 @@ public class TopCommand extends BaseCommand {
         if (args[1].equals("-")) {
             topEntry = userManager.getTopRatings();
         } else if (args[1].equalsIgnoreCase("wins")) {
-            topEntry = userManager.getWins();
+            topEntry = userManager.getTopWins();
         } else if (args[1].equalsIgnoreCase("losses")) {
-            topEntry = userManager.getLosses();
+            topEntry = userManager.getTopLosses();
         } else {
             final String name = StringUtil.join(args, " ", 1, args.length);
             final KitImpl kit = kitManager.get(name);
@@ -51,7 +51,6 @@ public class TopCommand extends BaseCommand {
             return;
         }
 
-        lang.sendMessage(sender, "COMMAND.duel.top.next-update", "remaining", userManager.getNextUpdate(topEntry.getCreation()));
         lang.sendMessage(sender, "COMMAND.duel.top.header", "type", topEntry.getType());
 
         for (int i = 0; i < top.size(); i++) {
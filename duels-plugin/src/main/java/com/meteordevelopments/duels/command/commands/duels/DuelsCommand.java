@@ -21,6 +21,7 @@ public class DuelsCommand extends BaseCommand {
                 new CreateCommand(plugin),
                 new DeleteCommand(plugin),
                 new SetCommand(plugin),
+                new SetboundsCommand(plugin),
                 new ToggleCommand(plugin),
                 new TeleportCommand(plugin),
                 new CreatequeueCommand(plugin),
@@ -35,6 +36,7 @@ public class DuelsCommand extends BaseCommand {
                 new SetratingCommand(plugin),
                 new ResetCommand(plugin),
                 new ResetratingCommand(plugin),
+                new MigrateusersCommand(plugin),
                 new PlaysoundCommand(plugin),
                 new ReloadCommand(plugin),
                 new DisableCommand(plugin),
@@ -0,0 +1,22 @@
+package com.meteordevelopments.duels.command.commands.duels.subcommands;
+
+import com.meteordevelopments.duels.DuelsPlugin;
+import com.meteordevelopments.duels.command.BaseCommand;
+import org.bukkit.command.CommandSender;
+
+public class MigrateusersCommand extends BaseCommand {
+
+    public MigrateusersCommand(final DuelsPlugin plugin) {
+        super(plugin, "migrateusers", null, null, 1, false);
+    }
+
+    @Override
+    protected void execute(final CommandSender sender, final String label, final String[] args) {
+        if (!userManager.importUsers(amount -> lang.sendMessage(sender, "COMMAND.duels.migrate-users.done", "amount", amount))) {
+            lang.sendMessage(sender, "ERROR.data.not-database");
+            return;
+        }
+
+        lang.sendMessage(sender, "COMMAND.duels.migrate-users.start");
+    }
+}
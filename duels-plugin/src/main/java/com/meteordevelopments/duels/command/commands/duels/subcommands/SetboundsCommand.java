@@ -0,0 +1,62 @@
+package com.meteordevelopments.duels.command.commands.duels.subcommands;
+
+import com.meteordevelopments.duels.DuelsPlugin;
+import com.meteordevelopments.duels.arena.ArenaImpl;
+import com.meteordevelopments.duels.command.BaseCommand;
+import com.meteordevelopments.duels.util.NumberUtil;
+import com.meteordevelopments.duels.util.StringUtil;
+import org.bukkit.Location;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SetboundsCommand extends BaseCommand {
+
+    public SetboundsCommand(final DuelsPlugin plugin) {
+        super(plugin, "setbounds", "setbounds [name] [1:2:clear]", "Sets a corner of the region of an arena.", 3, true);
+    }
+
+    @Override
+    protected void execute(final CommandSender sender, final String label, final String[] args) {
+        final String name = StringUtil.join(args, " ", 1, args.length - 1).replace("-", " ");
+        final ArenaImpl arena = arenaManager.get(name);
+
+        if (arena == null) {
+            lang.sendMessage(sender, "ERROR.arena.not-found", "name", name);
+            return;
+        }
+
+        if (args[args.length - 1].equalsIgnoreCase("clear")) {
+            arena.clearBounds();
+            lang.sendMessage(sender, "COMMAND.duels.clear-bounds", "name", name);
+            return;
+        }
+
+        final int corner = NumberUtil.parseInt(args[args.length - 1]).orElse(arena.getBounds().size() + 1);
+
+        if (corner <= 0 || corner > 2) {
+            lang.sendMessage(sender, "ERROR.arena.invalid-position");
+            return;
+        }
+
+        final Location location = ((Player) sender).getLocation().getBlock().getLocation();
+        arena.setBound(corner, location);
+        lang.sendMessage(sender, "COMMAND.duels.set-bounds", "corner", corner, "name", name, "location", StringUtil.parse(location));
+    }
+
+    @Override
+    public List<String> onTabComplete(final CommandSender sender, final Command command, final String alias, final String[] args) {
+        if (args.length == 2) {
+            return handleTabCompletion(args[1], arenaManager.getNames());
+        }
+
+        if (args.length > 2) {
+            return Arrays.asList("1", "2", "clear");
+        }
+
+        return null;
+    }
+}
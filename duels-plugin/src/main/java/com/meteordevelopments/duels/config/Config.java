@@ -163,6 +163,8 @@ public class Config extends AbstractConfiguration<DuelsPlugin> {
     @Getter
     private int maxDifference;
     @Getter
+    private int maxDifferenceIncrease;
+    @Getter
     private int defaultRating;
     @Getter
     private boolean ratingQueueOnly;
@@ -193,7 +195,13 @@ public class Config extends AbstractConfiguration<DuelsPlugin> {
     @Getter
     private int matchesToDisplay;
     @Getter
-    private long topUpdateInterval;
+    private String userStorage;
+    @Getter
+    private int userSaveInterval;
+    @Getter
+    private boolean lazyUserLoading;
+    @Getter
+    private int userCacheSize;
     @Getter
     private String topWinsType;
     @Getter
@@ -247,6 +255,12 @@ public class Config extends AbstractConfiguration<DuelsPlugin> {
     @Getter
     private boolean clearItemsAfterMatch;
     @Getter
+    private boolean arenaRollbackEnabled;
+    @Getter
+    private int arenaTrackingRadius;
+    @Getter
+    private int arenaRollbackBlocksPerTick;
+    @Getter
     private boolean stayUpToDate;
     @Getter
     private boolean disableEnderpearlInEndgame;
@@ -373,6 +387,9 @@ public class Config extends AbstractConfiguration<DuelsPlugin> {
         preventItemPickup = configuration.getBoolean("duel.prevent-item-pickup", true);
         limitTeleportEnabled = configuration.getBoolean("duel.limit-teleportation.enabled", true);
         distanceAllowed = configuration.getDouble("duel.limit-teleportation.distance-allowed", 5.0);
+        arenaRollbackEnabled = configuration.getBoolean("duel.arena-rollback.enabled", true);
+        arenaTrackingRadius = Math.max(configuration.getInt("duel.arena-rollback.tracking-radius", 32), 0);
+        arenaRollbackBlocksPerTick = Math.max(configuration.getInt("duel.arena-rollback.blocks-per-tick", 500), 1);
         blockAllCommands = configuration.getBoolean("duel.block-all-commands", false);
         whitelistedCommands = configuration.getStringList("duel.whitelisted-commands");
         blacklistedCommands = configuration.getStringList("duel.blacklisted-commands");
@@ -382,6 +399,7 @@ public class Config extends AbstractConfiguration<DuelsPlugin> {
         ratingEnabled = configuration.getBoolean("rating.enabled", true);
         kFactor = Math.max(configuration.getInt("rating.k-factor", 32), 1);
         maxDifference = Math.max(configuration.getInt("rating.max-difference", 400), 1);
+        maxDifferenceIncrease = Math.max(configuration.getInt("rating.max-difference-increase", 0), 0);
         defaultRating = Math.max(configuration.getInt("rating.default-rating", 1400), 0);
         ratingQueueOnly = configuration.getBoolean("rating.queue-matches-only", true);
 
@@ -401,7 +419,11 @@ public class Config extends AbstractConfiguration<DuelsPlugin> {
         displayPastMatches = configuration.getBoolean("stats.display-past-matches", true);
         matchesToDisplay = Math.max(configuration.getInt("stats.matches-to-display", 10), 0);
 
-        topUpdateInterval = Math.max(configuration.getInt("top.update-interval", 5), 1) * 60L * 1000L;
+        userStorage = configuration.getString("userdata.storage", "JSON");
+        userSaveInterval = Math.max(configuration.getInt("userdata.save-interval", 10), 1);
+        lazyUserLoading = configuration.getBoolean("userdata.lazy-loading", false);
+        userCacheSize = Math.max(configuration.getInt("userdata.cache-size", 1000), 0);
+
         topWinsType = configuration.getString("top.displayed-replacers.wins.type", "Wins");
         topWinsIdentifier = configuration.getString("top.displayed-replacers.wins.identifier", "wins");
         topLossesType = configuration.getString("top.displayed-replacers.losses.type", "Losses");
@@ -444,6 +466,8 @@ public class Config extends AbstractConfiguration<DuelsPlugin> {
         cdPartyDuelTitles = configuration.getStringList("countdown.party-duel.titles");
 
         final ConfigurationSection sounds = configuration.getConfigurationSection("sounds");
+        this.sounds.clear();
+        messageToSounds.clear();
 
         if (sounds != null) {
             for (final String name : sounds.getKeys(false)) {
@@ -464,9 +488,9 @@ public class Config extends AbstractConfiguration<DuelsPlugin> {
     }
 
     public void playSound(final Player player, final String message) {
-        sounds.values().stream()
-                .filter(sound -> sound.getMessages().contains(message))
-                .forEach(sound -> player.playSound(player.getLocation(), sound.getType(), sound.getVolume(), sound.getPitch()));
+        for (final MessageSound sound : messageToSounds.get(message)) {
+            player.playSound(player.getLocation(), sound.getType(), sound.getVolume(), sound.getPitch());
+        }
     }
 
     public MessageSound getSound(final String name) {
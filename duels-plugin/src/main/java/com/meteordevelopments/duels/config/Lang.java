@@ -17,7 +17,7 @@ import java.util.regex.Pattern;
 public class Lang extends AbstractConfiguration<DuelsPlugin> implements Reloadable {
 
     private final Config config;
-    private final Map<String, String> messages = new HashMap<>();
+    private final Map<String, MessageTemplate> messages = new HashMap<>();
 
     public Lang(final DuelsPlugin plugin) {
         super(plugin, "lang");
@@ -30,7 +30,9 @@ public class Lang extends AbstractConfiguration<DuelsPlugin> implements Reloadab
             configuration = convert(null);
         }
 
+        // Keys are lowercase, as {STRING} references are case-insensitive.
         final Map<String, String> strings = new HashMap<>();
+        final Map<String, String> rawMessages = new HashMap<>();
 
         for (String key : configuration.getKeys(true)) {
             if (key.equals("config-version")) {
@@ -52,23 +54,46 @@ public class Lang extends AbstractConfiguration<DuelsPlugin> implements Reloadab
 
             if (key.startsWith("STRINGS")) {
                 final String[] args = key.split(Pattern.quote("."));
-                strings.put(args[args.length - 1], message);
+                strings.put(args[args.length - 1].toLowerCase(), message);
             } else {
-                messages.put(key, message);
+                rawMessages.put(key, message);
             }
         }
 
-        messages.replaceAll((key, value) -> {
-            for (final Map.Entry<String, String> entry : strings.entrySet()) {
-                final String placeholder = "{" + entry.getKey() + "}";
+        rawMessages.forEach((key, value) -> messages.put(key, MessageTemplate.compile(insertStrings(value, strings))));
+    }
+
+    // Replaces {STRING} references with their values in a single pass over the message.
+    private String insertStrings(final String message, final Map<String, String> strings) {
+        int index = message.indexOf('{');
+
+        if (index == -1) {
+            return message;
+        }
+
+        final StringBuilder builder = new StringBuilder(message.length() + 32);
+        int start = 0;
+
+        while (index != -1) {
+            final int end = message.indexOf('}', index + 1);
+
+            if (end == -1) {
+                break;
+            }
 
-                if (StringUtil.containsIgnoreCase(value, placeholder)) {
-                    value = value.replaceAll("(?i)" + Pattern.quote(placeholder), entry.getValue());
-                }
+            final String value = strings.get(message.substring(index + 1, end).toLowerCase());
+
+            if (value == null) {
+                index = message.indexOf('{', index + 1);
+                continue;
             }
 
-            return value;
-        });
+            builder.append(message, start, index).append(value);
+            start = end + 1;
+            index = message.indexOf('{', start);
+        }
+
+        return builder.append(message, start, message.length()).toString();
     }
 
     @Override
@@ -81,60 +106,57 @@ public class Lang extends AbstractConfiguration<DuelsPlugin> implements Reloadab
         messages.clear();
     }
 
-    private String getRawMessage(final String key) {
-        final String message = messages.get(key);
+    private MessageTemplate getTemplate(final String key) {
+        final MessageTemplate template = messages.get(key);
 
-        if (message == null) {
+        if (template == null) {
             Log.error(this, "Failed to load message: provided key '" + key + "' has no assigned value");
             return null;
         }
 
         // Allow disabling any message by setting it to ''
-        return !message.isEmpty() ? message : null;
+        return !template.isEmpty() ? template : null;
     }
 
     public String getMessage(final String key) {
-        final String message = getRawMessage(key);
-        return message != null ? StringUtil.color(message) : null;
-    }
-
-    private String replace(String message, Object... replacers) {
-        // If given an array of replacers as a single parameter, expand the array.
-        if (replacers.length == 1 && replacers[0] instanceof Object[]) {
-            replacers = (Object[]) replacers[0];
-        }
-
-        for (int i = 0; i < replacers.length; i += 2) {
-            if (i + 1 >= replacers.length) {
-                break;
-            }
-
-            message = message.replace("%" + replacers[i].toString() + "%", String.valueOf(replacers[i + 1]));
-        }
-
-        return message;
+        final MessageTemplate template = getTemplate(key);
+        return template != null ? template.getColored() : null;
     }
 
     public String getMessage(final String key, final Object... replacers) {
-        final String message = getMessage(key);
-        return message != null ? replace(message, replacers) : null;
+        final MessageTemplate template = getTemplate(key);
+        return template != null ? template.render(false, replacers) : null;
     }
 
     public void sendMessage(final CommandSender receiver, final String key, final Object... replacers) {
-        final String message = getRawMessage(key);
+        final MessageTemplate template = getTemplate(key);
 
-        if (message == null) {
+        if (template == null) {
             return;
         }
 
         if (receiver instanceof Player) {
-            config.playSound((Player) receiver, message);
+            config.playSound((Player) receiver, template.getRaw());
         }
 
-        receiver.sendMessage(StringUtil.color(replace(message, replacers)));
+        receiver.sendMessage(template.render(true, replacers));
     }
 
+    /**
+     * Renders the message once and sends it to all players.
+     */
     public void sendMessage(final Collection<Player> players, final String key, final Object... replacers) {
-        players.forEach(player -> sendMessage(player, key, replacers));
+        final MessageTemplate template = getTemplate(key);
+
+        if (template == null || players.isEmpty()) {
+            return;
+        }
+
+        final String message = template.render(true, replacers);
+
+        for (final Player player : players) {
+            config.playSound(player, template.getRaw());
+            player.sendMessage(message);
+        }
     }
 }
@@ -0,0 +1,123 @@
+package com.meteordevelopments.duels.config;
+
+import com.meteordevelopments.duels.util.StringUtil;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message compiled once into colored literals and %placeholder% slots, so that rendering is a single pass without
+ * searching the message for every replacer.
+ */
+public final class MessageTemplate {
+
+    // Message before coloring, used to match sounds triggered by the message.
+    @Getter
+    private final String raw;
+    @Getter
+    private final String colored;
+    // literals[i] precedes placeholders[i], the last literal follows the last placeholder.
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int length;
+
+    private MessageTemplate(final String raw, final String colored, final List<String> literals, final List<String> placeholders) {
+        this.raw = raw;
+        this.colored = colored;
+        this.literals = literals.toArray(new String[0]);
+        this.placeholders = placeholders.toArray(new String[0]);
+        this.length = colored.length();
+    }
+
+    public static MessageTemplate compile(final String raw) {
+        final String colored = StringUtil.color(raw);
+        final List<String> literals = new ArrayList<>();
+        final List<String> placeholders = new ArrayList<>();
+        int start = 0;
+        int index = colored.indexOf('%');
+
+        while (index != -1) {
+            final int end = findEnd(colored, index + 1);
+
+            if (end == -1) {
+                index = colored.indexOf('%', index + 1);
+                continue;
+            }
+
+            literals.add(colored.substring(start, index));
+            placeholders.add(colored.substring(index + 1, end));
+            start = end + 1;
+            index = colored.indexOf('%', start);
+        }
+
+        literals.add(colored.substring(start));
+        return new MessageTemplate(raw, colored, literals, placeholders);
+    }
+
+    // Returns the index of the % closing a placeholder name starting at the given index or -1 if there is none.
+    private static int findEnd(final String message, final int from) {
+        for (int i = from; i < message.length(); i++) {
+            final char c = message.charAt(i);
+
+            if (c == '%') {
+                return i > from ? i : -1;
+            }
+
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Renders the message, replacing each placeholder with the value following its name in replacers. Placeholders
+     * without a replacer are kept as they are.
+     *
+     * @param colorValues Whether color codes in the replaced values should be translated
+     * @param replacers   Alternating placeholder names and values
+     */
+    public String render(final boolean colorValues, Object... replacers) {
+        if (placeholders.length == 0) {
+            return colored;
+        }
+
+        // If given an array of replacers as a single parameter, expand the array.
+        if (replacers.length == 1 && replacers[0] instanceof Object[]) {
+            replacers = (Object[]) replacers[0];
+        }
+
+        final StringBuilder builder = new StringBuilder(length + 16 * placeholders.length);
+
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+
+            final String placeholder = placeholders[i];
+            final String value = find(placeholder, replacers);
+
+            if (value == null) {
+                builder.append('%').append(placeholder).append('%');
+            } else {
+                builder.append(colorValues && value.indexOf('&') != -1 ? StringUtil.color(value) : value);
+            }
+        }
+
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    private static String find(final String placeholder, final Object[] replacers) {
+        for (int i = 0; i + 1 < replacers.length; i += 2) {
+            if (placeholder.equals(String.valueOf(replacers[i]))) {
+                return String.valueOf(replacers[i + 1]);
+            }
+        }
+
+        return null;
+    }
+}
@@ -11,10 +11,10 @@ import com.meteordevelopments.duels.DuelsPlugin;
 import com.meteordevelopments.duels.arena.ArenaImpl;
 import com.meteordevelopments.duels.config.Config;
 import com.meteordevelopments.duels.config.Lang;
+import com.meteordevelopments.duels.config.MessageTemplate;
 import com.meteordevelopments.duels.data.UserData;
 import com.meteordevelopments.duels.data.UserManagerImpl;
 import com.meteordevelopments.duels.match.DuelMatch;
-import com.meteordevelopments.duels.util.StringUtil;
 import com.meteordevelopments.duels.util.compat.Titles;
 import com.meteordevelopments.duels.util.function.Pair;
 import org.bukkit.entity.Player;
@@ -61,23 +61,18 @@ public class DuelCountdown extends BukkitRunnable {
         });
     }
 
-    protected void sendMessage(final String rawMessage, final String message, final String title) {
+    protected void sendMessage(final MessageTemplate message, final String title) {
         final String kitName = match.getKit() != null ? match.getKit().getName() : lang.getMessage("GENERAL.none");
 
         arena.getPlayers().forEach(player -> {
-            config.playSound(player, rawMessage);
+            config.playSound(player, message.getRaw());
 
             final Pair<String, Integer> info = this.info.get(player.getUniqueId());
 
             if (info != null) {
-                player.sendMessage(message
-                    .replace("%opponent%", info.getKey())
-                    .replace("%opponent_rating%", String.valueOf(info.getValue()))
-                    .replace("%kit%", kitName)
-                    .replace("%arena%", arena.getName())
-                );
+                player.sendMessage(message.render(false, "opponent", info.getKey(), "opponent_rating", info.getValue(), "kit", kitName, "arena", arena.getName()));
             } else {
-                player.sendMessage(message);
+                player.sendMessage(message.render(false, "kit", kitName, "arena", arena.getName()));
             }
 
             if (title != null) {
@@ -100,10 +95,9 @@ public class DuelCountdown extends BukkitRunnable {
             return;
         }
 
-        final String rawMessage = messages.get(index);
-        final String message = StringUtil.color(rawMessage);
+        final MessageTemplate message = MessageTemplate.compile(messages.get(index));
         final String title = (titles.size() >= index + 1) ? titles.get(index) : null;
-        sendMessage(rawMessage, message, title);
+        sendMessage(message, title);
         index++;
     }
 
@@ -5,6 +5,7 @@ import java.util.Map;
 
 import com.meteordevelopments.duels.DuelsPlugin;
 import com.meteordevelopments.duels.arena.ArenaImpl;
+import com.meteordevelopments.duels.config.MessageTemplate;
 import com.meteordevelopments.duels.countdown.DuelCountdown;
 import com.meteordevelopments.duels.match.party.PartyDuelMatch;
 import com.meteordevelopments.duels.party.Party;
@@ -25,16 +26,12 @@ public class PartyDuelCountdown extends DuelCountdown {
     }
     
     @Override
-    protected void sendMessage(final String rawMessage, final String message, final String title) {
+    protected void sendMessage(final MessageTemplate message, final String title) {
         final String kitName = match.getKit() != null ? match.getKit().getName() : lang.getMessage("GENERAL.none");
         match.getPlayerToParty().entrySet().forEach(entry -> {
             final Player player = entry.getKey();
-            config.playSound(player, rawMessage);
-            player.sendMessage(message
-                .replace("%opponents%", info.get(arena.getOpponent(entry.getValue())))
-                .replace("%kit%", kitName)
-                .replace("%arena%", arena.getName())
-            );
+            config.playSound(player, message.getRaw());
+            player.sendMessage(message.render(false, "opponents", info.get(arena.getOpponent(entry.getValue())), "kit", kitName, "arena", arena.getName()));
             
             if (title != null) {
                 Titles.send(player, title, null, 0, 20, 50);
@@ -13,6 +13,7 @@ public class ArenaData {
     private boolean disabled;
     private Set<String> kits = new HashSet<>();
     private Map<Integer, LocationData> positions = new HashMap<>();
+    private Map<Integer, LocationData> bounds = new HashMap<>();
 
     private ArenaData() {
     }
@@ -23,6 +24,8 @@ public class ArenaData {
         arena.getKits().forEach(kit -> this.kits.add(kit.getName()));
         arena.getPositions().entrySet()
                 .stream().filter(entry -> entry.getValue().getWorld() != null).forEach(entry -> positions.put(entry.getKey(), LocationData.fromLocation(entry.getValue())));
+        arena.getBounds().entrySet()
+                .stream().filter(entry -> entry.getValue().getWorld() != null).forEach(entry -> bounds.put(entry.getKey(), LocationData.fromLocation(entry.getValue())));
     }
 
     public ArenaImpl toArena(final DuelsPlugin plugin) {
@@ -31,6 +34,11 @@ public class ArenaData {
         // Manually bind kits and add locations to prevent saveArenas being called
         kits.stream().map(name -> plugin.getKitManager().get(name)).filter(Objects::nonNull).forEach(kit -> arena.getKits().add(kit));
         positions.forEach((key, value) -> arena.getPositions().put(key, value.toLocation()));
+
+        if (bounds != null) {
+            bounds.forEach((key, value) -> arena.getBounds().put(key, value.toLocation()));
+        }
+
         arena.refreshGui(arena.isAvailable());
         return arena;
     }
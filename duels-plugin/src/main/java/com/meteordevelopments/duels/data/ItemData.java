@@ -5,10 +5,12 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.meteordevelopments.duels.util.EnumUtil;
+import com.meteordevelopments.duels.util.Log;
 import com.meteordevelopments.duels.util.collection.StreamUtil;
 import com.meteordevelopments.duels.util.compat.CompatUtil;
 import com.meteordevelopments.duels.util.compat.Identifiers;
 import com.meteordevelopments.duels.util.inventory.ItemBuilder;
+import com.meteordevelopments.duels.util.inventory.ItemCodec;
 import com.meteordevelopments.duels.util.inventory.ItemUtil;
 import com.meteordevelopments.duels.util.json.DefaultBasedDeserializer;
 import com.meteordevelopments.duels.util.yaml.YamlUtil;
@@ -23,27 +25,49 @@ import org.bukkit.potion.PotionType;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 public class ItemData {
 
+    private static final String ITEM_DECODE_FAILURE = "Could not decode item: %s";
+
+    // Legacy format, item serialized by Bukkit as a map. Only read, items are written in the compact format.
     private Map<String, Object> item;
+    // Compact format, base64 of the item written by ItemCodec.
+    private String bytes;
 
     private ItemData() {
     }
 
     private ItemData(ItemStack item) {
+        if (item == null) {
+            return;
+        }
+
         item = Identifiers.removeIdentifier(item);
-        final String dumped = YamlUtil.bukkitYamlDump(item);
-        this.item = YamlUtil.yamlLoad(dumped);
+
+        try {
+            this.bytes = Base64.getEncoder().encodeToString(ItemCodec.encode(item));
+        } catch (IOException ex) {
+            final String dumped = YamlUtil.bukkitYamlDump(item);
+            this.item = YamlUtil.yamlLoad(dumped);
+        }
     }
 
     public static ItemData fromItemStack(final ItemStack item) {
         return new ItemData(item);
     }
 
+    /**
+     * @return true if this item was read from the legacy map format and should be saved again in the compact format.
+     */
+    public boolean isLegacy() {
+        return bytes == null && item != null && !item.isEmpty();
+    }
+
     @SuppressWarnings("unchecked")
     private static void patchItemFlags(final Map<String, Object> item) {
         final Object meta = item.get("meta");
@@ -59,6 +83,16 @@ public class ItemData {
     }
 
     public ItemStack toItemStack(final boolean kitItem) {
+        if (bytes != null) {
+            try {
+                final ItemStack item = ItemCodec.decode(Base64.getDecoder().decode(bytes));
+                return kitItem ? Identifiers.addIdentifier(item) : item;
+            } catch (IOException | IllegalArgumentException ex) {
+                Log.warn(String.format(ITEM_DECODE_FAILURE, ex.getMessage()));
+                return null;
+            }
+        }
+
         if (item == null || item.isEmpty()) {
             return null;
         }
@@ -98,7 +132,7 @@ public class ItemData {
 
             ItemData data = (ItemData) defaultDeserializer.deserialize(actual, context);
 
-            if (data.item != null) {
+            if (data.item != null || data.bytes != null) {
                 // If an item was successfully parsed to new json, disable old json check (assume kit file is in new json format) to reduce overhead.
                 checkOldJson = false;
             } else if (node != null) {
@@ -0,0 +1,209 @@
+package com.meteordevelopments.duels.data;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Charsets;
+import com.meteordevelopments.duels.DuelsPlugin;
+import com.meteordevelopments.duels.util.Log;
+import com.meteordevelopments.duels.util.UUIDUtil;
+import com.meteordevelopments.duels.util.io.FileUtil;
+import com.meteordevelopments.duels.util.json.JsonUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Stores each user in a separate json file named after the user's UUID.
+ */
+class JsonUserStorage implements UserStorage {
+
+    private static final String NAME_INDEX_FILE_NAME = "user-names.json";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String NAME_INDEX_BUILT = "&2Built user name index from %s userdata file(s).";
+
+    private final File folder;
+    private final File nameIndexFile;
+
+    JsonUserStorage(final File dataFolder) {
+        this.folder = new File(dataFolder, "users");
+        this.nameIndexFile = new File(dataFolder, NAME_INDEX_FILE_NAME);
+    }
+
+    @Override
+    public void init() {
+        if (!folder.exists()) {
+            folder.mkdir();
+        }
+    }
+
+    @Override
+    public void close() {}
+
+    @Nullable
+    @Override
+    public UserData load(final UUID uuid) throws IOException {
+        final File file = new File(folder, uuid + ".json");
+        return file.exists() ? load(file) : null;
+    }
+
+    /**
+     * Reads userdata files in parallel, so the consumer may be called from multiple threads at once.
+     */
+    @Override
+    public void loadAll(final Consumer<UserData> consumer) {
+        Arrays.stream(getFiles()).parallel().forEach(file -> {
+            final UserData user = tryLoad(file);
+
+            if (user != null) {
+                consumer.accept(user);
+            }
+        });
+    }
+
+    @Override
+    public void loadNames(final Map<String, UUID> names) {
+        if (!loadNameIndex(names)) {
+            buildNameIndex(names);
+        }
+    }
+
+    @Override
+    public void saveNames(final Map<String, UUID> names) throws IOException {
+        final File temp = new File(nameIndexFile.getPath() + TEMP_SUFFIX);
+
+        try (final FileOutputStream stream = new FileOutputStream(temp); final Writer writer = new OutputStreamWriter(stream, Charsets.UTF_8)) {
+            JsonUtil.getObjectMapper().writeValue(writer, new HashMap<>(names));
+            writer.flush();
+            stream.getChannel().force(true);
+        }
+
+        FileUtil.move(temp, nameIndexFile);
+    }
+
+    // All names are kept in memory by loadNames.
+    @Nullable
+    @Override
+    public UUID findUUID(final String name) {
+        return null;
+    }
+
+    @Override
+    public void save(final UserData user) throws IOException {
+        // Written to a temporary file first, so a crash while writing cannot leave a truncated file behind.
+        // The file is synced before the move, otherwise the rename may reach the disk before its contents.
+        final File temp = new File(folder, user.getUuid() + ".json" + TEMP_SUFFIX);
+
+        try (final FileOutputStream stream = new FileOutputStream(temp); final Writer writer = new OutputStreamWriter(stream, Charsets.UTF_8)) {
+            JsonUtil.getObjectWriter().writeValue(writer, user);
+            writer.flush();
+            stream.getChannel().force(true);
+        }
+
+        FileUtil.move(temp, new File(folder, user.getUuid() + ".json"));
+    }
+
+    @Override
+    public void saveAll(final Collection<UserData> users) throws IOException {
+        for (final UserData user : users) {
+            save(user);
+        }
+    }
+
+    File[] getFiles() {
+        final File[] files = folder.listFiles((dir, name) -> name.endsWith(".json"));
+        return files != null ? files : new File[0];
+    }
+
+    @Nullable
+    UserData tryLoad(final File file) {
+        if (getUUID(file) == null) {
+            return null;
+        }
+
+        try {
+            final UserData user = load(file);
+
+            if (user == null) {
+                Log.warn("Could not load userdata from file: " + file.getName());
+            }
+
+            return user;
+        } catch (IOException ex) {
+            Log.error("Could not load userdata from file: " + file.getName(), ex);
+            return null;
+        }
+    }
+
+    private UserData load(final File file) throws IOException {
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), Charsets.UTF_8)) {
+            return JsonUtil.getObjectMapper().readValue(reader, UserData.class);
+        }
+    }
+
+    private UUID getUUID(final File file) {
+        final String fileName = file.getName();
+
+        if (!fileName.endsWith(".json")) {
+            return null;
+        }
+
+        return UUIDUtil.parseUUID(fileName.substring(0, fileName.length() - 5));
+    }
+
+    private boolean loadNameIndex(final Map<String, UUID> names) {
+        if (!nameIndexFile.exists()) {
+            return false;
+        }
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(nameIndexFile), Charsets.UTF_8)) {
+            final Map<String, UUID> data = JsonUtil.getObjectMapper().readValue(reader, new TypeReference<Map<String, UUID>>() {
+            });
+
+            if (data == null) {
+                return false;
+            }
+
+            // Player might have logged in while reading the file
+            data.forEach(names::putIfAbsent);
+            return true;
+        } catch (IOException ex) {
+            Log.error("Could not load user name index, rebuilding from userdata files...", ex);
+            return false;
+        }
+    }
+
+    private void buildNameIndex(final Map<String, UUID> names) {
+        int count = 0;
+
+        for (final File file : getFiles()) {
+            final UUID uuid = getUUID(file);
+
+            if (uuid == null) {
+                continue;
+            }
+
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), Charsets.UTF_8)) {
+                final JsonNode name = JsonUtil.getObjectMapper().readTree(reader).get("name");
+
+                if (name == null || !name.isTextual()) {
+                    continue;
+                }
+
+                names.putIfAbsent(name.asText().toLowerCase(), uuid);
+                count++;
+            } catch (IOException ex) {
+                Log.error("Could not read userdata from file: " + file.getName(), ex);
+            }
+        }
+
+        DuelsPlugin.sendMessage(String.format(NAME_INDEX_BUILT, count));
+
+        try {
+            saveNames(names);
+        } catch (IOException ex) {
+            Log.error("Could not save user name index!", ex);
+        }
+    }
+}
@@ -45,6 +45,25 @@ public class KitData {
         return new KitData(kit);
     }
 
+    /**
+     * @return true if any item of this kit is stored in the legacy item format.
+     */
+    public boolean isLegacy() {
+        if (displayed != null && displayed.isLegacy()) {
+            return true;
+        }
+
+        for (final Map<Integer, ItemData> data : items.values()) {
+            for (final ItemData item : data.values()) {
+                if (item != null && item.isLegacy()) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     public KitImpl toKit(final DuelsPlugin plugin) {
         ItemStack displayed;
 
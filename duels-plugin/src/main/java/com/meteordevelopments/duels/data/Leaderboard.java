@@ -0,0 +1,221 @@
+package com.meteordevelopments.duels.data;
+
+import com.meteordevelopments.duels.api.user.UserManager.TopData;
+import com.meteordevelopments.duels.api.user.UserManager.TopEntry;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps users ordered by a single score so that top entries and ranks can be read without sorting every user.
+ * Backed by a treap with subtree sizes, giving O(log n) updates and rank lookups.
+ */
+final class Leaderboard {
+
+    private static final int TOP_SIZE = 10;
+
+    private final String type, identifier;
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+    private TopEntry entry;
+
+    Leaderboard(final String type, final String identifier) {
+        this.type = type;
+        this.identifier = identifier;
+    }
+
+    synchronized void update(final UUID uuid, final String name, final int value) {
+        final Node current = nodes.get(uuid);
+
+        if (current != null) {
+            if (current.value == value && current.name.equals(name)) {
+                return;
+            }
+
+            root = delete(root, current);
+        }
+
+        final Node node = new Node(uuid, name, value);
+        nodes.put(uuid, node);
+        root = insert(root, node);
+        entry = null;
+    }
+
+    synchronized void remove(final UUID uuid) {
+        final Node current = nodes.remove(uuid);
+
+        if (current == null) {
+            return;
+        }
+
+        root = delete(root, current);
+        entry = null;
+    }
+
+    /**
+     * @return 1-based rank of the user or -1 if the user is not on this leaderboard.
+     */
+    synchronized int getRank(final UUID uuid) {
+        final Node node = nodes.get(uuid);
+
+        if (node == null) {
+            return -1;
+        }
+
+        int rank = 1;
+        Node current = root;
+
+        while (current != null) {
+            final int result = compare(node, current);
+
+            if (result == 0) {
+                return rank + size(current.left);
+            }
+
+            if (result < 0) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+
+        return -1;
+    }
+
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    synchronized TopEntry getEntry() {
+        if (entry != null) {
+            return entry;
+        }
+
+        final List<TopData> data = new ArrayList<>(Math.min(TOP_SIZE, nodes.size()));
+        final Deque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+
+        while ((current != null || !stack.isEmpty()) && data.size() < TOP_SIZE) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+
+            current = stack.pop();
+            data.add(new TopData(current.uuid, current.name, current.value));
+            current = current.right;
+        }
+
+        return entry = new TopEntry(type, identifier, Collections.unmodifiableList(data));
+    }
+
+    // Higher values come first, ties are broken by UUID to keep the ordering total.
+    private static int compare(final Node first, final Node second) {
+        final int result = Integer.compare(second.value, first.value);
+        return result != 0 ? result : first.uuid.compareTo(second.uuid);
+    }
+
+    private static int size(final Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static Node insert(final Node root, final Node node) {
+        if (root == null) {
+            return node;
+        }
+
+        if (node.priority > root.priority) {
+            final Node[] split = split(root, node);
+            node.left = split[0];
+            node.right = split[1];
+            return node.update();
+        }
+
+        if (compare(node, root) < 0) {
+            root.left = insert(root.left, node);
+        } else {
+            root.right = insert(root.right, node);
+        }
+
+        return root.update();
+    }
+
+    private static Node delete(final Node root, final Node node) {
+        if (root == null) {
+            return null;
+        }
+
+        final int result = compare(node, root);
+
+        if (result == 0) {
+            return merge(root.left, root.right);
+        }
+
+        if (result < 0) {
+            root.left = delete(root.left, node);
+        } else {
+            root.right = delete(root.right, node);
+        }
+
+        return root.update();
+    }
+
+    // Splits the tree into nodes ordered before the given node and the rest.
+    private static Node[] split(final Node root, final Node node) {
+        if (root == null) {
+            return new Node[2];
+        }
+
+        if (compare(root, node) < 0) {
+            final Node[] split = split(root.right, node);
+            root.right = split[0];
+            split[0] = root.update();
+            return split;
+        }
+
+        final Node[] split = split(root.left, node);
+        root.left = split[1];
+        split[1] = root.update();
+        return split;
+    }
+
+    private static Node merge(final Node left, final Node right) {
+        if (left == null) {
+            return right;
+        }
+
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private static class Node {
+
+        private final UUID uuid;
+        private final String name;
+        private final int value;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left, right;
+
+        private Node(final UUID uuid, final String name, final int value) {
+            this.uuid = uuid;
+            this.name = name;
+            this.value = value;
+        }
+
+        private Node update() {
+            size = 1 + Leaderboard.size(left) + Leaderboard.size(right);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.meteordevelopments.duels.data;
+
+import com.meteordevelopments.duels.api.user.UserManager.TopData;
+import com.meteordevelopments.duels.util.UUIDUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.sql.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Stores users in an embedded SQLite database. The driver is bundled with the server, so no extra dependency is needed.
+ * All statements run on a single connection, guarded by this instance's monitor.
+ */
+class SQLiteUserStorage implements UserStorage {
+
+    private static final String DATABASE_FILE_NAME = "users.db";
+    private static final int TOP_SIZE = 10;
+
+    private static final String[] CREATE_TABLES = {
+            "CREATE TABLE IF NOT EXISTS users (uuid TEXT PRIMARY KEY, name TEXT NOT NULL, name_lower TEXT NOT NULL, "
+                    + "wins INTEGER NOT NULL, losses INTEGER NOT NULL, requests INTEGER NOT NULL, party_requests INTEGER NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS users_name ON users (name_lower)",
+            "CREATE INDEX IF NOT EXISTS users_wins ON users (wins DESC)",
+            "CREATE INDEX IF NOT EXISTS users_losses ON users (losses DESC)",
+            "CREATE TABLE IF NOT EXISTS ratings (uuid TEXT NOT NULL, kit TEXT NOT NULL, rating INTEGER NOT NULL, PRIMARY KEY (uuid, kit))",
+            "CREATE INDEX IF NOT EXISTS ratings_kit ON ratings (kit, rating DESC)",
+            "CREATE TABLE IF NOT EXISTS matches (uuid TEXT NOT NULL, winner TEXT NOT NULL, loser TEXT NOT NULL, kit TEXT NOT NULL, "
+                    + "time INTEGER NOT NULL, duration INTEGER NOT NULL, health REAL NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS matches_uuid ON matches (uuid, time)"
+    };
+
+    private static final String SELECT_USER = "SELECT name, wins, losses, requests, party_requests FROM users WHERE uuid = ?";
+    private static final String SELECT_UUIDS = "SELECT uuid FROM users";
+    private static final String SELECT_RATINGS = "SELECT kit, rating FROM ratings WHERE uuid = ?";
+    private static final String SELECT_MATCHES = "SELECT winner, loser, kit, time, duration, health FROM matches WHERE uuid = ? ORDER BY time, rowid";
+    private static final String SELECT_UUID_BY_NAME = "SELECT uuid FROM users WHERE name_lower = ? LIMIT 1";
+    private static final String UPSERT_USER = "INSERT INTO users (uuid, name, name_lower, wins, losses, requests, party_requests) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (uuid) DO UPDATE SET name = excluded.name, name_lower = excluded.name_lower, wins = excluded.wins, losses = excluded.losses, "
+            + "requests = excluded.requests, party_requests = excluded.party_requests";
+    private static final String DELETE_RATINGS = "DELETE FROM ratings WHERE uuid = ?";
+    private static final String UPSERT_RATING = "INSERT INTO ratings (uuid, kit, rating) VALUES (?, ?, ?) "
+            + "ON CONFLICT (uuid, kit) DO UPDATE SET rating = excluded.rating WHERE rating != excluded.rating";
+    private static final String DELETE_MATCHES = "DELETE FROM matches WHERE uuid = ?";
+    private static final String INSERT_MATCH = "INSERT INTO matches (uuid, winner, loser, kit, time, duration, health) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // Keeps the given amount of the user's latest matches.
+    private static final String TRIM_MATCHES = "DELETE FROM matches WHERE uuid = ? AND rowid NOT IN "
+            + "(SELECT rowid FROM matches WHERE uuid = ? ORDER BY time DESC, rowid DESC LIMIT ?)";
+    private static final String SELECT_TOP = "SELECT uuid, name, %1$s FROM users ORDER BY %1$s DESC LIMIT " + TOP_SIZE;
+    private static final String SELECT_TOP_RATINGS = "SELECT r.uuid, u.name, r.rating FROM ratings r JOIN users u ON u.uuid = r.uuid "
+            + "WHERE r.kit = ? ORDER BY r.rating DESC LIMIT " + TOP_SIZE;
+    private static final String SELECT_RANK = "SELECT (SELECT COUNT(*) FROM users WHERE %1$s > u.%1$s) + 1 FROM users u WHERE u.uuid = ?";
+    private static final String SELECT_RATING_RANK = "SELECT (SELECT COUNT(*) FROM ratings WHERE kit = r.kit AND rating > r.rating) + 1 "
+            + "FROM ratings r WHERE r.kit = ? AND r.uuid = ?";
+
+    private final File file;
+    private Connection connection;
+
+    SQLiteUserStorage(final File dataFolder) {
+        this.file = new File(dataFolder, DATABASE_FILE_NAME);
+    }
+
+    @Override
+    public synchronized void init() throws Exception {
+        Class.forName("org.sqlite.JDBC");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+
+            for (final String query : CREATE_TABLES) {
+                statement.execute(query);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException ignored) {}
+
+        connection = null;
+    }
+
+    @Nullable
+    @Override
+    public synchronized UserData load(final UUID uuid) throws SQLException {
+        final String id = uuid.toString();
+        final String name;
+        final int wins, losses;
+        final boolean requests, partyRequests;
+
+        try (PreparedStatement statement = connection().prepareStatement(SELECT_USER)) {
+            statement.setString(1, id);
+
+            try (ResultSet result = statement.executeQuery()) {
+                if (!result.next()) {
+                    return null;
+                }
+
+                name = result.getString(1);
+                wins = result.getInt(2);
+                losses = result.getInt(3);
+                requests = result.getBoolean(4);
+                partyRequests = result.getBoolean(5);
+            }
+        }
+
+        final Map<String, Integer> rating = new HashMap<>();
+
+        try (PreparedStatement statement = connection().prepareStatement(SELECT_RATINGS)) {
+            statement.setString(1, id);
+
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    rating.put(result.getString(1), result.getInt(2));
+                }
+            }
+        }
+
+        final List<MatchData> matches = new ArrayList<>();
+
+        try (PreparedStatement statement = connection().prepareStatement(SELECT_MATCHES)) {
+            statement.setString(1, id);
+
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    matches.add(new MatchData(result.getString(1), result.getString(2), result.getString(3), result.getLong(4), result.getLong(5), result.getDouble(6)));
+                }
+            }
+        }
+
+        return new UserData(uuid, name, wins, losses, requests, partyRequests, rating, matches);
+    }
+
+    @Override
+    public synchronized void loadAll(final Consumer<UserData> consumer) throws SQLException {
+        final List<UUID> uuids = new ArrayList<>();
+
+        try (Statement statement = connection().createStatement(); ResultSet result = statement.executeQuery(SELECT_UUIDS)) {
+            while (result.next()) {
+                final UUID uuid = UUIDUtil.parseUUID(result.getString(1));
+
+                if (uuid != null) {
+                    uuids.add(uuid);
+                }
+            }
+        }
+
+        for (final UUID uuid : uuids) {
+            final UserData user = load(uuid);
+
+            if (user != null) {
+                consumer.accept(user);
+            }
+        }
+    }
+
+    // Names are looked up on demand through the name_lower index.
+    @Override
+    public void loadNames(final Map<String, UUID> names) {}
+
+    @Override
+    public void saveNames(final Map<String, UUID> names) {}
+
+    @Nullable
+    @Override
+    public synchronized UUID findUUID(final String name) throws SQLException {
+        try (PreparedStatement statement = connection().prepareStatement(SELECT_UUID_BY_NAME)) {
+            statement.setString(1, name.toLowerCase());
+
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? UUIDUtil.parseUUID(result.getString(1)) : null;
+            }
+        }
+    }
+
+    @Override
+    public void save(final UserData user) throws SQLException {
+        saveAll(Collections.singletonList(user));
+    }
+
+    /**
+     * Writes all given users in a single transaction using batched statements. Ratings are upserted and only matches
+     * added since the user was last saved are inserted, unless the user's stored data is to be replaced.
+     */
+    @Override
+    public synchronized void saveAll(final Collection<UserData> users) throws SQLException {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        connection().setAutoCommit(false);
+
+        try (
+                PreparedStatement upsertUser = connection().prepareStatement(UPSERT_USER);
+                PreparedStatement deleteRatings = connection().prepareStatement(DELETE_RATINGS);
+                PreparedStatement upsertRating = connection().prepareStatement(UPSERT_RATING);
+                PreparedStatement deleteMatches = connection().prepareStatement(DELETE_MATCHES);
+                PreparedStatement insertMatch = connection().prepareStatement(INSERT_MATCH);
+                PreparedStatement trimMatches = connection().prepareStatement(TRIM_MATCHES)
+        ) {
+            for (final UserData user : users) {
+                final String id = user.getUuid().toString();
+                upsertUser.setString(1, id);
+                upsertUser.setString(2, user.getName());
+                upsertUser.setString(3, user.getName().toLowerCase());
+                upsertUser.setInt(4, user.getWins());
+                upsertUser.setInt(5, user.getLosses());
+                upsertUser.setBoolean(6, user.canRequest());
+                upsertUser.setBoolean(7, user.canPartyRequest());
+                upsertUser.addBatch();
+
+                if (user.replaceStored) {
+                    deleteRatings.setString(1, id);
+                    deleteRatings.addBatch();
+                    deleteMatches.setString(1, id);
+                    deleteMatches.addBatch();
+                }
+
+                for (final Map.Entry<String, Integer> entry : user.getRatings().entrySet()) {
+                    upsertRating.setString(1, id);
+                    upsertRating.setString(2, entry.getKey());
+                    upsertRating.setInt(3, entry.getValue());
+                    upsertRating.addBatch();
+                }
+
+                if (user.newMatches.isEmpty()) {
+                    continue;
+                }
+
+                for (final MatchData match : user.newMatches) {
+                    insertMatch.setString(1, id);
+                    insertMatch.setString(2, match.getWinner());
+                    insertMatch.setString(3, match.getLoser());
+                    insertMatch.setString(4, match.getKit());
+                    insertMatch.setLong(5, match.getTime());
+                    insertMatch.setLong(6, match.getDuration());
+                    insertMatch.setDouble(7, match.getHealth());
+                    insertMatch.addBatch();
+                }
+
+                if (!user.replaceStored) {
+                    trimMatches.setString(1, id);
+                    trimMatches.setString(2, id);
+                    trimMatches.setInt(3, user.getMatchData().size());
+                    trimMatches.addBatch();
+                }
+            }
+
+            upsertUser.executeBatch();
+            deleteRatings.executeBatch();
+            upsertRating.executeBatch();
+            deleteMatches.executeBatch();
+            insertMatch.executeBatch();
+            trimMatches.executeBatch();
+            connection().commit();
+        } catch (SQLException ex) {
+            connection().rollback();
+            throw ex;
+        } finally {
+            connection().setAutoCommit(true);
+        }
+    }
+
+    /**
+     * @param column either 'wins' or 'losses'.
+     */
+    synchronized List<TopData> getTop(final String column) throws SQLException {
+        try (Statement statement = connection().createStatement(); ResultSet result = statement.executeQuery(String.format(SELECT_TOP, column))) {
+            return readTop(result);
+        }
+    }
+
+    synchronized List<TopData> getTopRatings(final String kit) throws SQLException {
+        try (PreparedStatement statement = connection().prepareStatement(SELECT_TOP_RATINGS)) {
+            statement.setString(1, kit);
+
+            try (ResultSet result = statement.executeQuery()) {
+                return readTop(result);
+            }
+        }
+    }
+
+    /**
+     * @param column either 'wins' or 'losses'.
+     * @return 1-based rank of the user or -1 if the user is not stored.
+     */
+    synchronized int getRank(final String column, final UUID uuid) throws SQLException {
+        try (PreparedStatement statement = connection().prepareStatement(String.format(SELECT_RANK, column))) {
+            statement.setString(1, uuid.toString());
+
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getInt(1) : -1;
+            }
+        }
+    }
+
+    /**
+     * @return 1-based rank of the user or -1 if the user has no stored rating for the kit.
+     */
+    synchronized int getRatingRank(final String kit, final UUID uuid) throws SQLException {
+        try (PreparedStatement statement = connection().prepareStatement(SELECT_RATING_RANK)) {
+            statement.setString(1, kit);
+            statement.setString(2, uuid.toString());
+
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getInt(1) : -1;
+            }
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection == null) {
+            throw new SQLException("Database connection is closed");
+        }
+
+        return connection;
+    }
+
+    private List<TopData> readTop(final ResultSet result) throws SQLException {
+        final List<TopData> data = new ArrayList<>(TOP_SIZE);
+
+        while (result.next()) {
+            final UUID uuid = UUIDUtil.parseUUID(result.getString(1));
+
+            if (uuid != null) {
+                data.add(new TopData(uuid, result.getString(2), result.getInt(3)));
+            }
+        }
+
+        return data;
+    }
+}
@@ -1,29 +1,24 @@
 package com.meteordevelopments.duels.data;
 
-import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
 import lombok.Getter;
 import lombok.Setter;
 import com.meteordevelopments.duels.api.kit.Kit;
 import com.meteordevelopments.duels.api.user.MatchInfo;
 import com.meteordevelopments.duels.api.user.User;
-import com.meteordevelopments.duels.util.Log;
-import com.meteordevelopments.duels.util.json.JsonUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class UserData implements User {
 
-    private static transient final String ERROR_USER_SAVE = "An error occured while saving userdata of %s!";
-    transient File folder;
     transient int defaultRating;
     transient int matchesToDisplay;
+    transient UserManagerImpl manager;
     @Getter
     private UUID uuid;
     @Getter
@@ -37,21 +32,79 @@ public class UserData implements User {
     private ConcurrentHashMap<String, Integer> rating;
     private List<MatchData> matches = new ArrayList<>();
     private boolean partyRequests = true;
+    // Changes since the user was last queued for saving, so that the database only writes new matches.
+    transient List<MatchData> newMatches = new ArrayList<>();
+    // Set if stored matches and ratings should be replaced instead of updated.
+    transient boolean replaceStored;
 
     private UserData() {
     }
 
-    public UserData(final File folder, final int defaultRating, final int matchesToDisplay, final Player player) {
-        this.folder = folder;
+    public UserData(final UserManagerImpl manager, final int defaultRating, final int matchesToDisplay, final Player player) {
+        this.manager = manager;
         this.defaultRating = defaultRating;
         this.matchesToDisplay = matchesToDisplay;
         this.uuid = player.getUniqueId();
         this.name = player.getName();
     }
 
+    UserData(final UUID uuid, final String name, final int wins, final int losses, final boolean requests, final boolean partyRequests,
+             final Map<String, Integer> rating, final List<MatchData> matches) {
+        this.uuid = uuid;
+        this.name = name;
+        this.wins = wins;
+        this.losses = losses;
+        this.requests = requests;
+        this.partyRequests = partyRequests;
+        this.rating = new ConcurrentHashMap<>(rating);
+        this.matches = matches;
+    }
+
+    /**
+     * @return copy of this user that is not affected by later changes, safe to be written from another thread.
+     */
+    UserData copy() {
+        final UserData copy = new UserData(uuid, name, wins, losses, requests, partyRequests, getRatings(), new ArrayList<>(matches));
+        copy.manager = manager;
+        copy.defaultRating = defaultRating;
+        copy.matchesToDisplay = matchesToDisplay;
+        copy.newMatches.addAll(newMatches);
+        copy.replaceStored = replaceStored;
+        return copy;
+    }
+
+    void clearChanges() {
+        newMatches.clear();
+        replaceStored = false;
+    }
+
+    /**
+     * Marks all matches and ratings as unsaved, for users not stored in the database yet.
+     */
+    void markUnsaved() {
+        newMatches = new ArrayList<>(matches);
+        replaceStored = true;
+    }
+
+    /**
+     * Adds the changes of an older copy waiting to be saved to a newer one.
+     *
+     * @return the newer copy
+     */
+    static UserData merge(final UserData older, final UserData newer) {
+        // Matches added before a reset were removed along with the stored ones.
+        if (!newer.replaceStored) {
+            newer.newMatches.addAll(0, older.newMatches);
+            newer.replaceStored = older.replaceStored;
+        }
+
+        return newer;
+    }
+
     @Override
     public void setWins(final int wins) {
         this.wins = wins;
+        manager.updateWins(this);
 
         if (!isOnline()) {
             trySave();
@@ -61,6 +114,7 @@ public class UserData implements User {
     @Override
     public void setLosses(final int losses) {
         this.losses = losses;
+        manager.updateLosses(this);
 
         if (!isOnline()) {
             trySave();
@@ -114,7 +168,16 @@ public class UserData implements User {
         wins = 0;
         losses = 0;
         matches.clear();
-        rating.clear();
+        newMatches.clear();
+        replaceStored = true;
+
+        if (rating != null) {
+            rating.keySet().forEach(key -> manager.removeRating(key, this));
+            rating.clear();
+        }
+
+        manager.updateWins(this);
+        manager.updateLosses(this);
 
         if (!isOnline()) {
             trySave();
@@ -134,7 +197,7 @@ public class UserData implements User {
     }
 
     public int getRatingUnsafe(@Nullable final Kit kit) {
-        return this.rating != null ? this.rating.getOrDefault(kit == null ? "-" : kit.getName(), defaultRating) : defaultRating;
+        return getRating(kit == null ? "-" : kit.getName());
     }
 
     public void setRating(final Kit kit, final int rating) {
@@ -142,13 +205,31 @@ public class UserData implements User {
             this.rating = new ConcurrentHashMap<>();
         }
 
-        this.rating.put(kit == null ? "-" : kit.getName(), rating);
+        final String key = kit == null ? "-" : kit.getName();
+        this.rating.put(key, rating);
+        manager.updateRating(key, this);
 
         if (!isOnline()) {
             trySave();
         }
     }
 
+    int getRating(final String key) {
+        return this.rating != null ? this.rating.getOrDefault(key, defaultRating) : defaultRating;
+    }
+
+    Set<String> getRatedKeys() {
+        return this.rating != null ? this.rating.keySet() : Collections.emptySet();
+    }
+
+    Map<String, Integer> getRatings() {
+        return this.rating != null ? this.rating : Collections.emptyMap();
+    }
+
+    List<MatchData> getMatchData() {
+        return matches;
+    }
+
     private boolean isOnline() {
         return Bukkit.getPlayer(uuid) != null;
     }
@@ -156,11 +237,13 @@ public class UserData implements User {
     public void addWin() {
         final int wins = this.wins;
         this.wins = wins + 1;
+        manager.updateWins(this);
     }
 
     public void addLoss() {
         final int losses = this.losses;
         this.losses = losses + 1;
+        manager.updateLosses(this);
     }
 
     public void addMatch(final MatchData matchData) {
@@ -169,6 +252,13 @@ public class UserData implements User {
         }
 
         matches.add(matchData);
+
+        // Older matches would be removed from the database as soon as they are written
+        if (!newMatches.isEmpty() && newMatches.size() >= matchesToDisplay) {
+            newMatches.remove(0);
+        }
+
+        newMatches.add(matchData);
     }
 
     void refreshMatches() {
@@ -182,20 +272,7 @@ public class UserData implements User {
     }
 
     public void trySave() {
-        final File file = new File(folder, uuid + ".json");
-
-        try {
-            if (!file.exists()) {
-                file.createNewFile();
-            }
-
-            try (final Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charsets.UTF_8)) {
-                JsonUtil.getObjectWriter().writeValue(writer, this);
-                writer.flush();
-            }
-        } catch (IOException ex) {
-            Log.error(String.format(ERROR_USER_SAVE, name), ex);
-        }
+        manager.save(this);
     }
 
     @Override
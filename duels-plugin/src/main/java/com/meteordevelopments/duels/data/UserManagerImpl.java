@@ -1,6 +1,5 @@
 package com.meteordevelopments.duels.data;
 
-import com.google.common.collect.Lists;
 import com.meteordevelopments.duels.kit.KitImpl;
 import com.meteordevelopments.duels.match.DuelMatch;
 import com.meteordevelopments.duels.match.party.PartyDuelMatch;
@@ -11,11 +10,9 @@ import com.meteordevelopments.duels.DuelsPlugin;
 import com.meteordevelopments.duels.Permissions;
 import com.meteordevelopments.duels.api.event.user.UserCreateEvent;
 import com.meteordevelopments.duels.api.kit.Kit;
-import com.meteordevelopments.duels.api.user.User;
 import com.meteordevelopments.duels.api.user.UserManager;
 import com.meteordevelopments.duels.config.Config;
 import com.meteordevelopments.duels.config.Lang;
-import com.meteordevelopments.duels.util.json.JsonUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -26,51 +23,68 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import space.arim.morepaperlib.scheduling.ScheduledTask;
 
-import java.io.*;
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 public class UserManagerImpl implements Loadable, Listener, UserManager {
 
     private static final Calendar GREGORIAN_CALENDAR = new GregorianCalendar();
     private static final String ADMIN_UPDATE_MESSAGE = "&9[Duels] &bDuels &fv%s &7is now available for download! Download at: &c%s";
+    private static final String ERROR_USER_SAVE = "An error occured while saving userdata of %s!";
+    private static final long NAME_INDEX_SAVE_INTERVAL = 20L * 60 * 5;
+    private static final long QUERY_CACHE_TIME = 5000L;
+    private static final int IMPORT_BATCH_SIZE = 1000;
 
     private final DuelsPlugin plugin;
     private final Config config;
     private final Lang lang;
-    private final File folder;
     private final Map<UUID, UserData> users = new ConcurrentHashMap<>();
     private final Map<String, UUID> names = new ConcurrentHashMap<>();
-    private final Map<Kit, TopEntry> topRatings = new ConcurrentHashMap<>();
+    // Online players whose user is being loaded asynchronously. Lookups return null until then instead of loading again.
+    private final Set<UUID> loading = ConcurrentHashMap.newKeySet();
+    // Offline users looked up while lazy loading is enabled, evicted in least recently used order.
+    private final Map<UUID, UserData> offlineUsers = Collections.synchronizedMap(new LinkedHashMap<UUID, UserData>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, UserData> eldest) {
+            return size() > userCacheSize;
+        }
+    });
+    // Rating leaderboards keyed by kit name, or '-' for no kit.
+    private final Map<String, Leaderboard> ratings = new ConcurrentHashMap<>();
+    // Results of leaderboard queries while using database storage.
+    private final Map<String, Cached<TopEntry>> topQueries = new ConcurrentHashMap<>();
+    // Keyed by user, so that a user's entries can be dropped at once when they quit.
+    private final Map<UUID, Map<String, Cached<Integer>>> rankQueries = new ConcurrentHashMap<>();
+    // Copies of users waiting to be written by the save task. Keyed by UUID so that repeated changes are written once.
+    private final Map<UUID, UserData> dirtyUsers = new ConcurrentHashMap<>();
+    private volatile UserStorage storage;
+    // Set if leaderboards are queried from the database instead of being kept in memory.
+    private volatile SQLiteUserStorage database;
     private volatile int defaultRating;
     private volatile int matchesToDisplay;
+    private volatile boolean lazyLoading;
+    private volatile int userCacheSize;
+    private volatile boolean namesChanged;
     @Getter
     private volatile boolean loaded;
-    @Getter
-    private volatile TopEntry wins;
-    @Getter
-    private volatile TopEntry losses;
-    @Getter
-    private volatile TopEntry noKit;
-    private ScheduledTask topTask;
+    private volatile Leaderboard wins;
+    private volatile Leaderboard losses;
+    private ScheduledTask nameIndexTask;
+    private ScheduledTask saveTask;
 
     public UserManagerImpl(final DuelsPlugin plugin) {
         this.plugin = plugin;
         this.config = plugin.getConfiguration();
         this.lang = plugin.getLang();
-        this.folder = new File(plugin.getDataFolder(), "users");
-
-        if (!folder.exists()) {
-            folder.mkdir();
-        }
-
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     @Override
-    public void handleLoad() {
+    public void handleLoad() throws Exception {
         this.defaultRating = config.getDefaultRating();
         this.matchesToDisplay = config.getMatchesToDisplay();
 
@@ -78,100 +92,118 @@ public class UserManagerImpl implements Loadable, Listener, UserManager {
             matchesToDisplay = 0;
         }
 
-        plugin.doAsync(() -> {
-            final File[] files = folder.listFiles();
-
-            if (files != null && files.length > 0) {
-                for (final File file : files) {
-                    final String fileName = file.getName();
+        if (config.getUserStorage().equalsIgnoreCase("SQLITE")) {
+            this.storage = this.database = new SQLiteUserStorage(plugin.getDataFolder());
+        } else {
+            this.storage = new JsonUserStorage(plugin.getDataFolder());
+            this.database = null;
+        }
 
-                    if (!fileName.endsWith(".json")) {
-                        continue;
-                    }
+        storage.init();
+        this.lazyLoading = database != null || config.isLazyUserLoading();
+        this.userCacheSize = config.getUserCacheSize();
+        this.wins = new Leaderboard(config.getTopWinsType(), config.getTopWinsIdentifier());
+        this.losses = new Leaderboard(config.getTopLossesType(), config.getTopLossesIdentifier());
 
-                    final String name = fileName.substring(0, fileName.length() - 5);
+        // Players online during a reload will not trigger PlayerJoinEvent
+        final List<Player> online = new ArrayList<>(Bukkit.getOnlinePlayers());
 
-                    final UUID uuid = UUIDUtil.parseUUID(name);
+        if (lazyLoading) {
+            online.forEach(player -> loading.add(player.getUniqueId()));
+        }
 
-                    if (uuid == null || users.containsKey(uuid)) {
-                        continue;
-                    }
+        plugin.doAsync(() -> {
+            if (lazyLoading) {
+                try {
+                    storage.loadNames(names);
+                } catch (Exception ex) {
+                    Log.error(this, "Could not load user names!", ex);
+                }
 
-                    try (Reader reader = new InputStreamReader(new FileInputStream(file))) {
-                        final UserData user = JsonUtil.getObjectMapper().readValue(reader, UserData.class);
+                for (final Player player : online) {
+                    try {
+                        final UserData user = tryLoad(player);
 
-                        if (user == null) {
-                            Log.warn(this, "Could not load userdata from file: " + fileName);
-                            continue;
+                        if (user != null && users.putIfAbsent(player.getUniqueId(), user) == null) {
+                            putName(player);
+                            updateLeaderboards(user);
                         }
-
-                        user.folder = folder;
-                        user.defaultRating = defaultRating;
-                        user.matchesToDisplay = matchesToDisplay;
-                        user.refreshMatches();
-                        // Player might have logged in while reading the file
-                        names.putIfAbsent(user.getName().toLowerCase(), uuid);
-                        users.putIfAbsent(uuid, user);
-                    } catch (IOException ex) {
-                        Log.error(this, "Could not load userdata from file: " + fileName, ex);
+                    } finally {
+                        loading.remove(player.getUniqueId());
                     }
                 }
+            } else {
+                loadUsers();
             }
 
             loaded = true;
-        });
-
-        this.topTask = plugin.doSyncRepeat(() -> {
-            final Collection<? extends Kit> kits = plugin.getKitManager().getKits();
-
-            plugin.doAsync(() -> {
-                if (!loaded) {
-                    return;
-                }
-
-                TopEntry top;
-
-                if ((top = get(config.getTopUpdateInterval(), wins, User::getWins, config.getTopWinsType(), config.getTopWinsIdentifier())) != null) {
-                    wins = top;
-                }
 
-                if ((top = get(config.getTopUpdateInterval(), losses, User::getLosses, config.getTopLossesType(), config.getTopLossesIdentifier())) != null) {
-                    losses = top;
-                }
-
-                if ((top = get(config.getTopUpdateInterval(), noKit, User::getRating, config.getTopNoKitType(), config.getTopNoKitIdentifier())) != null) {
-                    noKit = top;
-                }
-
-                topRatings.keySet().removeIf(kit -> !kits.contains(kit));
+            // Fill the leaderboard caches ahead of the first /duel top, as database queries are not run on lookup
+            if (database != null) {
+                getTopWins();
+                getTopLosses();
+                getTopRatings();
+            }
+        });
 
-                for (final Kit kit : kits) {
-                    final TopEntry entry = topRatings.get(kit);
+        this.nameIndexTask = plugin.doAsyncRepeat(() -> {
+            if (loaded && namesChanged) {
+                saveNames();
+            }
+        }, NAME_INDEX_SAVE_INTERVAL, NAME_INDEX_SAVE_INTERVAL);
 
-                    if ((top = get(config.getTopUpdateInterval(), entry, user -> user.getRating(kit), config.getTopKitType().replace("%kit%", kit.getName()),
-                            config.getTopKitIdentifier())) != null) {
-                        topRatings.put(kit, top);
-                    }
-                }
-            });
-        }, 20L * 5, 20L);
+        final long saveInterval = config.getUserSaveInterval() * 20L;
+        this.saveTask = plugin.doAsyncRepeat(this::flush, saveInterval, saveInterval);
     }
 
     @Override
     public void handleUnload() {
-        plugin.cancelTask(topTask);
+        // Tasks are not started if the storage failed to initialize
+        if (nameIndexTask != null) {
+            plugin.cancelTask(nameIndexTask);
+            nameIndexTask = null;
+        }
+
+        if (saveTask != null) {
+            plugin.cancelTask(saveTask);
+            saveTask = null;
+        }
+
+        // Prevents overwriting the index with partially loaded names
+        if (loaded) {
+            saveNames();
+        }
+
         loaded = false;
         saveUsers(Bukkit.getOnlinePlayers());
+        flush();
+        storage.close();
         users.clear();
+        offlineUsers.clear();
+        loading.clear();
         names.clear();
-        topRatings.clear();
+        ratings.clear();
+        topQueries.clear();
+        rankQueries.clear();
     }
 
     @Nullable
     @Override
     public UserData get(@NotNull final String name) {
         Objects.requireNonNull(name, "name");
-        final UUID uuid = names.get(name.toLowerCase());
+        final String key = name.toLowerCase();
+        UUID uuid = names.get(key);
+
+        if (uuid == null && lazyLoading) {
+            try {
+                if ((uuid = storage.findUUID(key)) != null) {
+                    names.putIfAbsent(key, uuid);
+                }
+            } catch (Exception ex) {
+                Log.error(this, "Could not look up user " + name + "!", ex);
+            }
+        }
+
         return uuid != null ? get(uuid) : null;
     }
 
@@ -179,7 +211,13 @@ public class UserManagerImpl implements Loadable, Listener, UserManager {
     @Override
     public UserData get(@NotNull final UUID uuid) {
         Objects.requireNonNull(uuid, "uuid");
-        return users.get(uuid);
+        final UserData user = users.get(uuid);
+
+        if (user != null || !lazyLoading || loading.contains(uuid)) {
+            return user;
+        }
+
+        return getOffline(uuid);
     }
 
     @Nullable
@@ -192,81 +230,386 @@ public class UserManagerImpl implements Loadable, Listener, UserManager {
     @Nullable
     @Override
     public TopEntry getTopWins() {
-        return wins;
+        final SQLiteUserStorage database = this.database;
+
+        if (database != null) {
+            return query(topQueries, "wins", null, () -> new TopEntry(config.getTopWinsType(), config.getTopWinsIdentifier(), database.getTop("wins")));
+        }
+
+        return wins.getEntry();
     }
 
     @Nullable
     @Override
     public TopEntry getTopLosses() {
-        return losses;
+        final SQLiteUserStorage database = this.database;
+
+        if (database != null) {
+            return query(topQueries, "losses", null, () -> new TopEntry(config.getTopLossesType(), config.getTopLossesIdentifier(), database.getTop("losses")));
+        }
+
+        return losses.getEntry();
     }
 
     @Nullable
     @Override
     public TopEntry getTopRatings() {
-        return noKit;
+        return getTopRatings("-");
     }
 
     @Nullable
     @Override
     public TopEntry getTopRatings(@NotNull final Kit kit) {
         Objects.requireNonNull(kit, "kit");
-        return topRatings.get(kit);
+        return getTopRatings(kit.getName());
     }
 
-    public String getNextUpdate(final long creation) {
-        return DateUtil.format((creation + config.getTopUpdateInterval() - System.currentTimeMillis()) / 1000L);
+    private TopEntry getTopRatings(final String key) {
+        final SQLiteUserStorage database = this.database;
+
+        if (database != null) {
+            return query(topQueries, "rating:" + key, null, () -> {
+                final List<TopData> data = database.getTopRatings(key);
+                return !data.isEmpty() ? new TopEntry(getRatingType(key), getRatingIdentifier(key), data) : null;
+            });
+        }
+
+        final Leaderboard leaderboard = ratings.get(key);
+        return leaderboard != null ? leaderboard.getEntry() : null;
     }
 
-    private TopEntry get(final long interval, final TopEntry previous, final Function<User, Integer> function, final String type, final String identifier) {
-        if (previous == null || System.currentTimeMillis() - previous.getCreation() >= interval) {
-            return new TopEntry(type, identifier, subList(sorted(function)));
+    /**
+     * @return 1-based rank of the user in wins or -1 if the user is not loaded.
+     */
+    public int getWinsRank(@NotNull final UUID uuid) {
+        Objects.requireNonNull(uuid, "uuid");
+        final SQLiteUserStorage database = this.database;
+
+        if (database != null) {
+            return query(getRankQueries(uuid), "wins", -1, () -> database.getRank("wins", uuid));
         }
 
-        return null;
+        return wins.getRank(uuid);
     }
 
-    private List<TopData> subList(final List<TopData> list) {
-        return Collections.unmodifiableList(Lists.newArrayList(list.size() > 10 ? list.subList(0, 10) : list));
+    /**
+     * @return 1-based rank of the user in losses or -1 if the user is not loaded.
+     */
+    public int getLossesRank(@NotNull final UUID uuid) {
+        Objects.requireNonNull(uuid, "uuid");
+        final SQLiteUserStorage database = this.database;
+
+        if (database != null) {
+            return query(getRankQueries(uuid), "losses", -1, () -> database.getRank("losses", uuid));
+        }
+
+        return losses.getRank(uuid);
     }
 
-    private List<TopData> sorted(final Function<User, Integer> function) {
-        return users.values().stream()
-                .map(data -> new TopData(data.getUuid(), data.getName(), function.apply(data)))
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toList());
+    /**
+     * @return 1-based rank of the user in rating for the kit or -1 if the user has no rating for the kit.
+     */
+    public int getRatingRank(@Nullable final Kit kit, @NotNull final UUID uuid) {
+        Objects.requireNonNull(uuid, "uuid");
+        final String key = kit == null ? "-" : kit.getName();
+        final SQLiteUserStorage database = this.database;
+
+        if (database != null) {
+            return query(getRankQueries(uuid), "rating:" + key, -1, () -> database.getRatingRank(key, uuid));
+        }
+
+        final Leaderboard leaderboard = ratings.get(key);
+        return leaderboard != null ? leaderboard.getRank(uuid) : -1;
     }
 
-    private UserData tryLoad(final Player player) {
-        final File file = new File(folder, player.getUniqueId() + ".json");
+    /**
+     * Imports all userdata files into the database. The callback is called on the main thread with the amount of
+     * imported users once finished. Users of online players are skipped.
+     *
+     * @return false if the current storage is not a database.
+     */
+    public boolean importUsers(final IntConsumer callback) {
+        final SQLiteUserStorage database = this.database;
+
+        if (database == null) {
+            return false;
+        }
 
-        if (!file.exists()) {
-            final UserData user = new UserData(folder, defaultRating, matchesToDisplay, player);
-            plugin.doSync(() -> Bukkit.getPluginManager().callEvent(new UserCreateEvent(user)));
-            return user;
+        plugin.doAsync(() -> {
+            final JsonUserStorage source = new JsonUserStorage(plugin.getDataFolder());
+            final File[] files = source.getFiles();
+            int imported = 0, skipped = 0;
+
+            for (int i = 0; i < files.length; i += IMPORT_BATCH_SIZE) {
+                final List<UserData> batch = Arrays.stream(files, i, Math.min(i + IMPORT_BATCH_SIZE, files.length))
+                        .parallel()
+                        .map(source::tryLoad)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toCollection(ArrayList::new));
+                final int read = batch.size();
+
+                // Online players' users are changed on the main thread and would overwrite the imported data on quit
+                batch.removeIf(user -> users.containsKey(user.getUuid()));
+                skipped += read - batch.size();
+                batch.forEach(user -> {
+                    prepare(user);
+                    user.markUnsaved();
+                });
+
+                try {
+                    database.saveAll(batch);
+                } catch (Exception ex) {
+                    Log.error(this, "Could not import userdata files " + (i + 1) + " to " + (i + batch.size()) + "!", ex);
+                    continue;
+                }
+
+                imported += batch.size();
+
+                // Drop loaded copies of offline users to prevent them from overwriting imported data
+                for (final UserData user : batch) {
+                    offlineUsers.remove(user.getUuid());
+                    dirtyUsers.remove(user.getUuid());
+                    names.putIfAbsent(user.getName().toLowerCase(), user.getUuid());
+                }
+            }
+
+            if (skipped > 0) {
+                Log.warn(this, "Skipped importing " + skipped + " user(s) of online players. Run the import again while they are offline to import them.");
+            }
+
+            topQueries.clear();
+            rankQueries.clear();
+
+            final int count = imported;
+            plugin.doSync(() -> callback.accept(count));
+        });
+        return true;
+    }
+
+    /**
+     * Queues a copy of the user to be written by the next flush, since the save task runs asynchronously while the
+     * user may still be changed.
+     */
+    void save(final UserData user) {
+        dirtyUsers.merge(user.getUuid(), user.copy(), UserData::merge);
+        user.clearChanges();
+    }
+
+    private synchronized void flush() {
+        if (dirtyUsers.isEmpty()) {
+            return;
         }
 
-        try (Reader reader = new InputStreamReader(new FileInputStream(file))) {
-            final UserData user = JsonUtil.getObjectMapper().readValue(reader, UserData.class);
+        final List<UserData> batch = new ArrayList<>(dirtyUsers.size());
 
-            if (user == null) {
-                return null;
+        // Changes made after removal will queue the user again
+        for (final UUID uuid : dirtyUsers.keySet()) {
+            final UserData user = dirtyUsers.remove(uuid);
+
+            if (user != null) {
+                batch.add(user);
             }
+        }
 
-            user.folder = folder;
-            user.defaultRating = defaultRating;
-            user.matchesToDisplay = matchesToDisplay;
-            user.refreshMatches();
+        try {
+            storage.saveAll(batch);
+        } catch (Exception ex) {
+            Log.error(this, String.format(ERROR_USER_SAVE, batch.size() + " user(s)"), ex);
+            batch.forEach(user -> dirtyUsers.merge(user.getUuid(), user, (newer, failed) -> UserData.merge(failed, newer)));
+        }
+    }
 
-            if (!player.getName().equals(user.getName())) {
-                user.setName(player.getName());
+    void updateWins(final UserData user) {
+        if (database == null) {
+            wins.update(user.getUuid(), user.getName(), user.getWins());
+        }
+    }
+
+    void updateLosses(final UserData user) {
+        if (database == null) {
+            losses.update(user.getUuid(), user.getName(), user.getLosses());
+        }
+    }
+
+    void updateRating(final String key, final UserData user) {
+        if (database == null) {
+            ratings.computeIfAbsent(key, this::createRatingLeaderboard).update(user.getUuid(), user.getName(), user.getRating(key));
+        }
+    }
+
+    void removeRating(final String key, final UserData user) {
+        final Leaderboard leaderboard = ratings.get(key);
+
+        if (leaderboard != null) {
+            leaderboard.remove(user.getUuid());
+        }
+    }
+
+    private void updateLeaderboards(final UserData user) {
+        updateWins(user);
+        updateLosses(user);
+        user.getRatedKeys().forEach(key -> updateRating(key, user));
+    }
+
+    private Leaderboard createRatingLeaderboard(final String key) {
+        return new Leaderboard(getRatingType(key), getRatingIdentifier(key));
+    }
+
+    private String getRatingType(final String key) {
+        return key.equals("-") ? config.getTopNoKitType() : config.getTopKitType().replace("%kit%", key);
+    }
+
+    private String getRatingIdentifier(final String key) {
+        return key.equals("-") ? config.getTopNoKitIdentifier() : config.getTopKitIdentifier();
+    }
+
+    private Map<String, Cached<Integer>> getRankQueries(final UUID uuid) {
+        return rankQueries.computeIfAbsent(uuid, key -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Returns the cached result of the query. Queries always run asynchronously, so the default value is returned
+     * until the first result is available and expired results are returned as is until refreshed.
+     */
+    private <T> T query(final Map<String, Cached<T>> cache, final String key, final T def, final Callable<T> query) {
+        final long now = System.currentTimeMillis();
+        final Cached<T> cached = cache.get(key);
+
+        if (cached == null) {
+            // Only the caller that added the placeholder entry runs the query
+            if (cache.putIfAbsent(key, new Cached<>(def, now + QUERY_CACHE_TIME)) == null) {
+                plugin.doAsync(() -> cache.put(key, new Cached<>(call(query, def), System.currentTimeMillis() + QUERY_CACHE_TIME)));
             }
 
+            return def;
+        }
+
+        // Only the caller that replaced the expired entry runs the query
+        if (cached.expiry <= now && cache.replace(key, cached, new Cached<>(cached.value, now + QUERY_CACHE_TIME))) {
+            plugin.doAsync(() -> cache.put(key, new Cached<>(call(query, cached.value), System.currentTimeMillis() + QUERY_CACHE_TIME)));
+        }
+
+        return cached.value;
+    }
+
+    private <T> T call(final Callable<T> query, final T def) {
+        try {
+            return query.call();
+        } catch (Exception ex) {
+            Log.error(this, "Could not query userdata storage!", ex);
+            return def;
+        }
+    }
+
+    private void prepare(final UserData user) {
+        user.manager = this;
+        user.defaultRating = defaultRating;
+        user.matchesToDisplay = matchesToDisplay;
+        user.refreshMatches();
+    }
+
+    private void loadUsers() {
+        try {
+            storage.loadAll(user -> {
+                prepare(user);
+
+                // Player might have logged in while reading the file
+                names.putIfAbsent(user.getName().toLowerCase(), user.getUuid());
+
+                if (users.putIfAbsent(user.getUuid(), user) == null) {
+                    updateLeaderboards(user);
+                }
+            });
+        } catch (Exception ex) {
+            Log.error(this, "Could not load userdata!", ex);
+        }
+    }
+
+    private UserData getOffline(final UUID uuid) {
+        final UserData cached = offlineUsers.get(uuid);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final UserData user;
+
+        try {
+            user = load(uuid);
+        } catch (Exception ex) {
+            Log.error(this, "Could not load userdata of " + uuid + "!", ex);
+            return null;
+        }
+
+        if (user == null) {
+            return null;
+        }
+
+        // Another thread might have loaded the same user while reading the file
+        final UserData previous = offlineUsers.putIfAbsent(uuid, user);
+
+        if (previous != null) {
+            return previous;
+        }
+
+        updateLeaderboards(user);
+        return user;
+    }
+
+    /**
+     * Returns the user waiting to be saved if there is one, since the stored copy would be outdated.
+     */
+    private UserData load(final UUID uuid) throws Exception {
+        final UserData pending = dirtyUsers.get(uuid);
+
+        if (pending != null) {
+            // Changes of the pending copy are written by the next flush
+            final UserData user = pending.copy();
+            user.clearChanges();
             return user;
-        } catch (IOException ex) {
+        }
+
+        final UserData user = storage.load(uuid);
+
+        if (user != null) {
+            prepare(user);
+        }
+
+        return user;
+    }
+
+    private synchronized void saveNames() {
+        namesChanged = false;
+
+        try {
+            storage.saveNames(names);
+        } catch (Exception ex) {
+            Log.error(this, "Could not save user name index!", ex);
+        }
+    }
+
+    private UserData tryLoad(final Player player) {
+        UserData user;
+
+        try {
+            user = load(player.getUniqueId());
+        } catch (Exception ex) {
             Log.error(this, "An error occured while loading userdata of " + player.getName() + "!", ex);
             return null;
         }
+
+        if (user == null) {
+            user = new UserData(this, defaultRating, matchesToDisplay, player);
+            final UserData created = user;
+            plugin.doSync(() -> Bukkit.getPluginManager().callEvent(new UserCreateEvent(created)));
+            return user;
+        }
+
+        if (!player.getName().equals(user.getName())) {
+            user.setName(player.getName());
+        }
+
+        return user;
     }
 
     private void saveUsers(final Collection<? extends Player> players) {
@@ -274,7 +617,7 @@ public class UserManagerImpl implements Loadable, Listener, UserManager {
             final UserData user = users.remove(player.getUniqueId());
 
             if (user != null) {
-                user.trySave();
+                save(user);
             }
         }
     }
@@ -291,42 +634,80 @@ public class UserManagerImpl implements Loadable, Listener, UserManager {
             }
         }, 5L);
 
-        final UserData user = users.get(player.getUniqueId());
+        UserData user = users.get(player.getUniqueId());
+
+        if (user == null && lazyLoading && (user = offlineUsers.remove(player.getUniqueId())) != null) {
+            users.put(player.getUniqueId(), user);
+        }
 
         if (user != null) {
             if (!player.getName().equals(user.getName())) {
                 user.setName(player.getName());
-                names.put(player.getName().toLowerCase(), player.getUniqueId());
+                putName(player);
+                updateLeaderboards(user);
             }
 
             return;
         }
 
+        final UUID uuid = player.getUniqueId();
+
+        if (lazyLoading) {
+            loading.add(uuid);
+        }
+
         plugin.doAsync(() -> {
-            final UserData data = tryLoad(player);
+            try {
+                UserData data = tryLoad(player);
 
-            if (data == null) {
-                lang.sendMessage(player, "ERROR.data.load-failure");
-                return;
-            }
+                // Reuse the copy of a lookup that started before the player joined, since it may have been changed
+                final UserData cached = lazyLoading ? offlineUsers.remove(uuid) : null;
+
+                if (cached != null) {
+                    data = cached;
+                }
+
+                if (data == null) {
+                    lang.sendMessage(player, "ERROR.data.load-failure");
+                    return;
+                }
+
+                putName(player);
 
-            names.put(player.getName().toLowerCase(), player.getUniqueId());
-            users.put(player.getUniqueId(), data);
+                // Player left while loading, keep the user with the other offline users
+                if (lazyLoading && !player.isOnline()) {
+                    offlineUsers.put(uuid, data);
+                    return;
+                }
+
+                users.put(uuid, data);
+                updateLeaderboards(data);
+            } finally {
+                loading.remove(uuid);
+            }
         });
     }
 
+    private void putName(final Player player) {
+        if (!player.getUniqueId().equals(names.put(player.getName().toLowerCase(), player.getUniqueId()))) {
+            namesChanged = true;
+        }
+    }
+
     @EventHandler
     public void on(final PlayerQuitEvent event) {
         final UUID uuid = event.getPlayer().getUniqueId();
-        final UserData user = users.remove(uuid);
+        final UserData user = lazyLoading ? users.remove(uuid) : users.get(uuid);
+        rankQueries.remove(uuid);
 
-        if (user != null) {
-            plugin.doAsync(() -> {
-                user.trySave();
+        if (user == null) {
+            return;
+        }
 
-                // Put data back after saving to prevent concurrency issues
-                users.put(uuid, user);
-            });
+        save(user);
+
+        if (lazyLoading) {
+            offlineUsers.put(uuid, user);
         }
     }
 
@@ -361,6 +742,12 @@ public class UserManagerImpl implements Loadable, Listener, UserManager {
                     loserData.setRating(kit, loserRating = loserRating - change);
                 }
 
+                // Keep database leaderboards up to date without waiting for the players to quit
+                if (database != null) {
+                    save(winnerData);
+                    save(loserData);
+                }
+
                 message = lang.getMessage("DUEL.on-end.opponent-defeat",
                         "winner", winner.getName(),
                         "loser", loser.getName(),
@@ -397,4 +784,14 @@ public class UserManagerImpl implements Loadable, Listener, UserManager {
         }
     }
 
+    private static final class Cached<T> {
+
+        private final T value;
+        private final long expiry;
+
+        private Cached(final T value, final long expiry) {
+            this.value = value;
+            this.expiry = expiry;
+        }
+    }
 }
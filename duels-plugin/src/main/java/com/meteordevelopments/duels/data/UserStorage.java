@@ -0,0 +1,41 @@
+package com.meteordevelopments.duels.data;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Persistence layer behind {@link UserManagerImpl}. Implementations may be called from any thread.
+ */
+interface UserStorage {
+
+    void init() throws Exception;
+
+    void close();
+
+    /**
+     * @return the stored user or null if the user has no stored data.
+     */
+    @Nullable
+    UserData load(final UUID uuid) throws Exception;
+
+    void loadAll(final Consumer<UserData> consumer) throws Exception;
+
+    /**
+     * Fills the given map with lowercase names of stored users. Implementations that can look up names on demand
+     * through {@link #findUUID(String)} may leave the map empty.
+     */
+    void loadNames(final Map<String, UUID> names) throws Exception;
+
+    void saveNames(final Map<String, UUID> names) throws Exception;
+
+    @Nullable
+    UUID findUUID(final String name) throws Exception;
+
+    void save(final UserData user) throws Exception;
+
+    void saveAll(final Collection<UserData> users) throws Exception;
+}
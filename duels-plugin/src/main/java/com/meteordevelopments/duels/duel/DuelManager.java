@@ -107,7 +107,7 @@ public class DuelManager implements Loadable {
                 });
             }
 
-            final Set<Player> winners = match.getAlivePlayers();
+            final Set<Player> winners = new HashSet<>(match.getAlivePlayers());
             winners.forEach(w -> inventoryManager.create(w, false));
             userDataManager.handleMatchEnd(match, winners);
             plugin.doSyncAfter(() -> inventoryManager.handleMatchEnd(match), 1L);
@@ -191,7 +191,7 @@ public class DuelManager implements Loadable {
             final boolean winnerDecided = size == 1;
 
             if (winnerDecided) {
-                for (final Player winner : match.getAlivePlayers()) {
+                for (final Player winner : new ArrayList<>(match.getAlivePlayers())) {
                     lang.sendMessage(winner, "DUEL.on-end.plugin-disable");
                     handleWin(winner, arena.getOpponent(winner), arena, match);
                 }
@@ -232,26 +232,21 @@ public class DuelManager implements Loadable {
         final List<ItemStack> items = match.getItems(player);
 
         if (alive) {
-
-            playerManager.remove(player);
-
             if (!(match.isOwnInventory() && config.isOwnInventoryDropInventoryItems())) {
                 PlayerUtil.reset(player);
             }
 
             if (info != null) {
-                teleport.tryTeleport(player, info.getLocation());
-                info.restore(player);
+                // Give back bet items along with the cached inventory
+                playerManager.addExtra(player, items);
+                playerManager.restoreAfterTeleport(player, null);
             } else {
                 // If somehow PlayerInfo is not found...
-                teleport.tryTeleport(player, playerManager.getLobby());
+                teleport.tryTeleport(player, playerManager.getLobby(), () -> InventoryUtil.addOrDrop(player, items));
             }
-
-            // Give back bet items
-            InventoryUtil.addOrDrop(player, items);
         } else if (info != null) {
             // If player remained dead during ENDGAME phase, add the items to cached PlayerInfo of the player.
-            info.getExtra().addAll(items);
+            playerManager.addExtra(player, items);
         } else {
             InventoryUtil.addOrDrop(player, items);
         }
@@ -290,22 +285,22 @@ public class DuelManager implements Loadable {
         final List<ItemStack> items = match.getItems();
 
         if (!winner.isDead()) {
-            playerManager.remove(winner);
-
             if (!(match.isOwnInventory() && config.isOwnInventoryDropInventoryItems())) {
                 PlayerUtil.reset(winner);
             }
 
             if (info != null) {
-                teleport.tryTeleport(winner, info.getLocation());
-                info.restore(winner);
-            }
-
-            if (InventoryUtil.addOrDrop(winner, items)) {
+                playerManager.addExtra(winner, items);
+                playerManager.restoreAfterTeleport(winner, () -> {
+                    if (!items.isEmpty()) {
+                        lang.sendMessage(winner, "DUEL.reward.items.message", "name", opponentName);
+                    }
+                });
+            } else if (InventoryUtil.addOrDrop(winner, items)) {
                 lang.sendMessage(winner, "DUEL.reward.items.message", "name", opponentName);
             }
         } else if (info != null) {
-            info.getExtra().addAll(items);
+            playerManager.addExtra(winner, items);
         }
     }
 
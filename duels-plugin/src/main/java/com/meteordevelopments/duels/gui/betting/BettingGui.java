@@ -102,6 +102,11 @@ public class BettingGui extends AbstractGui<DuelsPlugin> {
         return inventory.equals(this.inventory);
     }
 
+    @Override
+    public Collection<Inventory> getInventories() {
+        return Collections.singleton(inventory);
+    }
+
     @Override
     public void on(final Player player, final Inventory top, final InventoryClickEvent event) {
         final Inventory clicked = event.getClickedInventory();
@@ -2,51 +2,43 @@ package com.meteordevelopments.duels.gui.inventory;
 
 import com.meteordevelopments.duels.DuelsPlugin;
 import com.meteordevelopments.duels.gui.inventory.buttons.*;
+import com.meteordevelopments.duels.inventories.InventorySnapshot;
 import com.meteordevelopments.duels.util.compat.Items;
 import com.meteordevelopments.duels.util.gui.SinglePageGui;
 import com.meteordevelopments.duels.util.inventory.Slots;
-import org.bukkit.Material;
-import org.bukkit.entity.Player;
+import org.bukkit.Bukkit;
 import org.bukkit.inventory.ItemStack;
 
 public class InventoryGui extends SinglePageGui<DuelsPlugin> {
 
-    public InventoryGui(final DuelsPlugin plugin, final Player player, final boolean dead) {
-        super(plugin, plugin.getLang().getMessage("GUI.inventory-view.title", "name", player.getName()), 6);
+    public InventoryGui(final DuelsPlugin plugin, final InventorySnapshot snapshot) {
+        super(plugin, plugin.getLang().getMessage("GUI.inventory-view.title", "name", snapshot.getName()), 6);
 
         final ItemStack spacing = Items.GRAY_PANE.clone();
         Slots.run(0, 9, slot -> inventory.setItem(slot, spacing));
-        set(4, new HeadButton(plugin, player));
+        set(4, new HeadButton(plugin, Bukkit.getOfflinePlayer(snapshot.getUuid()), snapshot.getName()));
 
-        int potions = 0;
-        int slot = 9;
+        // Inventory#setItem copies the items, so the snapshot is left unchanged.
+        for (int i = 0; i < snapshot.getContentsSize(); i++) {
+            final ItemStack item = snapshot.getContent(i);
 
-        for (final ItemStack item : player.getInventory().getContents()) {
-            if (item != null && item.getType() != Material.AIR) {
-                if (Items.isHealSplash(item)) {
-                    potions++;
-                }
-
-                inventory.setItem(slot, item.clone());
+            if (item != null) {
+                inventory.setItem(9 + i, item);
             }
-
-            slot++;
         }
 
-        slot = 48;
+        for (int i = 0; i < snapshot.getArmorSize(); i++) {
+            final ItemStack item = snapshot.getArmor(i);
 
-        for (final ItemStack item : player.getInventory().getArmorContents()) {
-            if (item != null && item.getType() != Material.AIR) {
-                inventory.setItem(slot, item.clone());
+            if (item != null) {
+                inventory.setItem(48 - i, item);
             }
-
-            slot--;
         }
 
         inventory.setItem(49, spacing);
-        set(50, new PotionCounterButton(plugin, potions));
-        set(51, new EffectsButton(plugin, player));
-        set(52, new HungerButton(plugin, player));
-        set(53, new HealthButton(plugin, player, dead));
+        set(50, new PotionCounterButton(plugin, snapshot.getPotions()));
+        set(51, new EffectsButton(plugin, snapshot.getEffects()));
+        set(52, new HungerButton(plugin, snapshot.getFoodLevel()));
+        set(53, new HealthButton(plugin, snapshot.getHealth(), snapshot.isDead()));
     }
 }
@@ -6,18 +6,19 @@ import com.meteordevelopments.duels.util.StringUtil;
 import com.meteordevelopments.duels.util.compat.CompatUtil;
 import com.meteordevelopments.duels.util.compat.Items;
 import com.meteordevelopments.duels.util.inventory.ItemBuilder;
-import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemFlag;
+import org.bukkit.potion.PotionEffect;
 
+import java.util.Collection;
 import java.util.stream.Collectors;
 
 public class EffectsButton extends BaseButton {
 
-    public EffectsButton(final DuelsPlugin plugin, final Player player) {
+    public EffectsButton(final DuelsPlugin plugin, final Collection<PotionEffect> effects) {
         super(plugin, ItemBuilder
                 .of(Items.WATER_BREATHING_POTION.clone())
                 .name(plugin.getLang().getMessage("GUI.inventory-view.buttons.effects.name"))
-                .lore(player.getActivePotionEffects().stream()
+                .lore(effects.stream()
                         .map(effect -> plugin.getLang().getMessage("GUI.inventory-view.buttons.effects.lore-format",
                                 "type", StringUtil.capitalize(effect.getType().getName().replace("_", " ").toLowerCase()),
                                 "amplifier", StringUtil.toRoman(effect.getAmplifier() + 1),
@@ -4,14 +4,14 @@ import com.meteordevelopments.duels.DuelsPlugin;
 import com.meteordevelopments.duels.gui.BaseButton;
 import com.meteordevelopments.duels.util.compat.Items;
 import com.meteordevelopments.duels.util.inventory.ItemBuilder;
-import org.bukkit.entity.Player;
+import org.bukkit.OfflinePlayer;
 
 public class HeadButton extends BaseButton {
 
-    public HeadButton(final DuelsPlugin plugin, final Player owner) {
+    public HeadButton(final DuelsPlugin plugin, final OfflinePlayer owner, final String name) {
         super(plugin, ItemBuilder
                 .of(Items.HEAD.clone())
-                .name(plugin.getLang().getMessage("GUI.inventory-view.buttons.head.name", "name", owner.getName()))
+                .name(plugin.getLang().getMessage("GUI.inventory-view.buttons.head.name", "name", name))
                 .build()
         );
         setOwner(owner);
@@ -4,14 +4,13 @@ import com.meteordevelopments.duels.DuelsPlugin;
 import com.meteordevelopments.duels.gui.BaseButton;
 import com.meteordevelopments.duels.util.inventory.ItemBuilder;
 import org.bukkit.Material;
-import org.bukkit.entity.Player;
 
 public class HungerButton extends BaseButton {
 
-    public HungerButton(final DuelsPlugin plugin, final Player player) {
+    public HungerButton(final DuelsPlugin plugin, final int foodLevel) {
         super(plugin, ItemBuilder
                 .of(Material.COOKED_BEEF)
-                .name(plugin.getLang().getMessage("GUI.inventory-view.buttons.hunger.name", "hunger", player.getFoodLevel()))
+                .name(plugin.getLang().getMessage("GUI.inventory-view.buttons.hunger.name", "hunger", foodLevel))
                 .build()
         );
     }
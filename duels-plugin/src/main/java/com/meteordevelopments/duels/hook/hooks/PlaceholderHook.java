@@ -6,6 +6,7 @@ import com.meteordevelopments.duels.api.kit.Kit;
 import com.meteordevelopments.duels.api.match.Match;
 import com.meteordevelopments.duels.api.spectate.Spectator;
 import com.meteordevelopments.duels.api.user.User;
+import com.meteordevelopments.duels.queue.Queue;
 import com.meteordevelopments.duels.util.StringUtil;
 import com.meteordevelopments.duels.util.compat.Ping;
 import com.meteordevelopments.duels.util.hook.PluginHook;
@@ -15,235 +16,303 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 public class PlaceholderHook extends PluginHook<DuelsPlugin> {
 
     public static final String NAME = "PlaceholderAPI";
 
+    // Limits the amount of parsed identifiers kept, in case identifiers are built from user input.
+    private static final int MAX_RESOLVERS = 1024;
+    // Interval in ticks between removals of cached values of players that stopped requesting placeholders.
+    private static final long PRUNE_INTERVAL = 1200L;
+
+    // Identifiers parsed into resolvers, so that each request is a single lookup.
+    private final Map<String, Function<Player, String>> resolvers = new ConcurrentHashMap<>();
+    // Values of match and queue placeholders, reused for requests within the same tick.
+    private final Map<UUID, TickValues> values = new ConcurrentHashMap<>();
+    private volatile long lastPrune;
+
     public PlaceholderHook(final DuelsPlugin plugin) {
         super(plugin, NAME);
         new Placeholders().register();
     }
 
-    public class Placeholders extends PlaceholderExpansion {
-        @Override
-        public String getIdentifier() {
-            return "duels";
-        }
+    private Function<Player, String> getResolver(final String identifier) {
+        final Function<Player, String> resolver = resolvers.get(identifier);
 
-        @Override
-        public String getAuthor() {
-            return "DUMBO";
+        if (resolver != null) {
+            return resolver;
         }
 
-        @Override
-        public String getVersion() {
-            return "1.0";
+        final Function<Player, String> compiled = compile(identifier);
+
+        if (resolvers.size() < MAX_RESOLVERS) {
+            resolvers.put(identifier, compiled);
         }
 
-        @Override
-        public boolean persist() {
-            return true;
+        return compiled;
+    }
+
+    private Function<Player, String> compile(final String identifier) {
+        switch (identifier) {
+            case "wins":
+                return user(user -> String.valueOf(user.getWins()));
+            case "losses":
+                return user(user -> String.valueOf(user.getLosses()));
+            case "can_request":
+                return user(user -> String.valueOf(user.canRequest()));
+            case "wl_ratio":
+            case "wlr":
+                return user(user -> String.valueOf(wlr(user.getWins(), user.getLosses())));
+            case "rank_wins":
+                return player -> String.valueOf(plugin.getUserManager().getWinsRank(player.getUniqueId()));
+            case "rank_losses":
+                return player -> String.valueOf(plugin.getUserManager().getLossesRank(player.getUniqueId()));
         }
 
-        @Override
-        public @Nullable String onPlaceholderRequest(Player player, @NotNull String identifier) {
-            if (player == null) {
-                return "Player is required";
+        if (identifier.startsWith("rank_rating_")) {
+            final String kitName = identifier.substring("rank_rating_".length());
+
+            if (kitName.equals("-")) {
+                return player -> String.valueOf(plugin.getUserManager().getRatingRank(null, player.getUniqueId()));
             }
 
-            User user;
-            switch (identifier) {
-                case "wins":
-                    user = plugin.getUserManager().get(player);
-
-                    if (user == null) {
-                        return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                    }
-                    return String.valueOf(user.getWins());
-                case "losses":
-                    user = plugin.getUserManager().get(player);
-                    if (user == null) {
-                        return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                    }
-                    return String.valueOf(user.getLosses());
-                case "can_request":
-                    user = plugin.getUserManager().get(player);
-                    if (user == null) {
-                        return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                    }
-                    return String.valueOf(user.canRequest());
-                //case "hits": {
-                //    Arena arena = plugin.getArenaManager().get(player);
-                //    // Only activate when winner is undeclared
-                //    if (arena == null) {
-                //        return "-1";
-                //    }
-                //    return String.valueOf(arena.getMatch().getHits(player));
-                //}
-                //case "hits_opponent": {
-                //    Arena arena = plugin.getArenaManager().get(player);
-                //    // Only activate when winner is undeclared
-                //    if (arena == null) {
-                //        return "-1";
-                //    }
-                //    return String.valueOf(arena.getMatch().getHits(arena.getOpponent(player)));
-                //}
-                case "wl_ratio":
-                case "wlr":
-                    user = plugin.getUserManager().get(player);
-                    if (user == null) {
-                        return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                    }
-                    int wins = user.getWins();
-                    int losses = user.getLosses();
-                    return String.valueOf(wlr(wins, losses));
+            return player -> {
+                final Kit kit = plugin.getKitManager().get(kitName);
+                return kit != null ? String.valueOf(plugin.getUserManager().getRatingRank(kit, player.getUniqueId())) : color(plugin.getConfiguration().getNoKit());
+            };
+        }
+
+        if (identifier.startsWith("rating_")) {
+            final String kitName = identifier.substring("rating_".length());
+
+            if (kitName.equals("-")) {
+                return user(user -> String.valueOf(user.getRating()));
             }
 
-            if (identifier.startsWith("rating_")) {
-                user = plugin.getUserManager().get(player);
+            return user(user -> {
+                final Kit kit = plugin.getKitManager().get(kitName);
+                return kit != null ? String.valueOf(user.getRating(kit)) : color(plugin.getConfiguration().getNoKit());
+            });
+        }
 
-                if (user == null) {
-                    return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                }
+        if (identifier.startsWith("getplayersinqueue_")) {
+            return queue(identifier, identifier.substring("getplayersinqueue_".length()), queue -> String.valueOf(queue.getPlayersInQueue()));
+        }
 
-                identifier = identifier.replace("rating_", "");
+        if (identifier.startsWith("getplayersplayinginqueue_")) {
+            return queue(identifier, identifier.substring("getplayersplayinginqueue_".length()), queue -> Long.toString(queue.getPlayersInMatch()));
+        }
 
-                if (identifier.equals("-")) {
-                    return String.valueOf(user.getRating());
-                }
+        if (identifier.startsWith("match_")) {
+            return match(identifier, compileMatch(identifier.substring("match_".length())));
+        }
 
-                final Kit kit = plugin.getKitManager().get(identifier);
-                return kit != null ? String.valueOf(user.getRating(kit)) : StringUtil.color(plugin.getConfiguration().getNoKit());
-            }
+        return player -> null;
+    }
 
-            if (identifier.startsWith("getplayersinqueue_")){
-                user = plugin.getUserManager().get(player);
-                if (user == null) {
-                    return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                }
+    private BiFunction<Match, Player, String> compileMatch(final String identifier) {
+        if (identifier.equalsIgnoreCase("duration")) {
+            return (match, player) -> DurationFormatUtils.formatDuration(System.currentTimeMillis() - match.getStart(), plugin.getConfiguration().getDurationFormat());
+        }
 
-                identifier = identifier.replace("getplayersinqueue_", "");
+        if (identifier.equalsIgnoreCase("kit")) {
+            return (match, player) -> match.getKit() != null ? match.getKit().getName() : color(plugin.getConfiguration().getNoKit());
+        }
 
-                final Kit kit = plugin.getKitManager().get(identifier);
-                if (kit == null) {
-                    return StringUtil.color(plugin.getConfiguration().getNoKit());
+        if (identifier.equalsIgnoreCase("arena")) {
+            return (match, player) -> match.getArena().getName();
+        }
+
+        if (identifier.equalsIgnoreCase("bet")) {
+            return (match, player) -> String.valueOf(match.getBet());
+        }
+
+        if (identifier.equalsIgnoreCase("rating")) {
+            return PlaceholderHook.this::getRating;
+        }
+
+        if (!identifier.startsWith("opponent")) {
+            return (match, player) -> null;
+        }
+
+        final Function<Player, String> value;
+
+        if (identifier.equalsIgnoreCase("opponent")) {
+            value = Player::getName;
+        } else if (identifier.endsWith("_health")) {
+            value = opponent -> String.valueOf(Math.ceil(opponent.getHealth()) * 0.5);
+        } else if (identifier.endsWith("_ping")) {
+            value = opponent -> String.valueOf(Ping.getPing(opponent));
+        } else {
+            value = null;
+        }
+
+        return (match, player) -> {
+            Player opponent = null;
+
+            for (final Player matchPlayer : match.getPlayers()) {
+                if (!matchPlayer.equals(player)) {
+                    opponent = matchPlayer;
+                    break;
                 }
+            }
 
-                int queuedPlayers = plugin.getQueueManager().get(kit, 0).getQueuedPlayers().size();
-                return queuedPlayers > 0 ? String.valueOf(queuedPlayers) : "0";
+            if (opponent == null) {
+                return color(plugin.getConfiguration().getNoOpponent());
             }
 
-            if (identifier.startsWith("getplayersplayinginqueue_")){
-                user = plugin.getUserManager().get(player);
-                if (user == null) {
-                    return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                }
-                identifier = identifier.replace("getplayersplayinginqueue_", "");
-                final Kit kit = plugin.getKitManager().get(identifier);
-                if (kit == null) {
-                    return StringUtil.color(plugin.getConfiguration().getNoKit());
-                }
-                long playersInMatch = plugin.getQueueManager().get(kit, 0).getPlayersInMatch();
-                return Long.toString(playersInMatch);
+            return value != null ? value.apply(opponent) : getRating(match, opponent);
+        };
+    }
+
+    private Function<Player, String> user(final Function<User, String> function) {
+        return player -> {
+            final User user = plugin.getUserManager().get(player);
+            return user != null ? function.apply(user) : color(plugin.getConfiguration().getUserNotFound());
+        };
+    }
+
+    private Function<Player, String> queue(final String identifier, final String kitName, final Function<Queue, String> function) {
+        return player -> cached(player, identifier, () -> {
+            if (plugin.getUserManager().get(player) == null) {
+                return color(plugin.getConfiguration().getUserNotFound());
             }
 
-            if (identifier.startsWith("match_")) {
-                identifier = identifier.replace("match_", "");
-                Arena arena = plugin.getArenaManager().get(player);
+            final Kit kit = plugin.getKitManager().get(kitName);
 
-                if (arena == null) {
-                    final Spectator spectator = plugin.getSpectateManager().get(player);
+            if (kit == null) {
+                return color(plugin.getConfiguration().getNoKit());
+            }
 
-                    if (spectator == null) {
-                        return StringUtil.color(plugin.getConfiguration().getNotInMatch());
-                    }
+            final Queue queue = plugin.getQueueManager().get(kit, 0);
+            return queue != null ? function.apply(queue) : "0";
+        });
+    }
+
+    private Function<Player, String> match(final String identifier, final BiFunction<Match, Player, String> function) {
+        return player -> cached(player, identifier, () -> {
+            Player target = player;
+            Arena arena = plugin.getArenaManager().get(player);
 
-                    arena = spectator.getArena();
-                    player = spectator.getTarget();
+            if (arena == null) {
+                final Spectator spectator = plugin.getSpectateManager().get(player);
 
-                    if (player == null) {
-                        return StringUtil.color(plugin.getConfiguration().getNotInMatch());
-                    }
+                if (spectator == null) {
+                    return color(plugin.getConfiguration().getNotInMatch());
                 }
 
-                final Match match = arena.getMatch();
+                arena = spectator.getArena();
+                target = spectator.getTarget();
 
-                if (match == null) {
-                    return StringUtil.color(plugin.getConfiguration().getNotInMatch());
+                if (target == null) {
+                    return color(plugin.getConfiguration().getNotInMatch());
                 }
+            }
 
-                if (identifier.equalsIgnoreCase("duration")) {
-                    return DurationFormatUtils.formatDuration(System.currentTimeMillis() - match.getStart(), plugin.getConfiguration().getDurationFormat());
-                }
+            final Match match = arena.getMatch();
 
-                if (identifier.equalsIgnoreCase("kit")) {
-                    return match.getKit() != null ? match.getKit().getName() : StringUtil.color(plugin.getConfiguration().getNoKit());
-                }
+            if (match == null) {
+                return color(plugin.getConfiguration().getNotInMatch());
+            }
 
-                if (identifier.equalsIgnoreCase("arena")) {
-                    return match.getArena().getName();
-                }
+            return function.apply(match, target);
+        });
+    }
 
-                if (identifier.equalsIgnoreCase("bet")) {
-                    return String.valueOf(match.getBet());
-                }
+    private String getRating(final Match match, final Player player) {
+        final User user = plugin.getUserManager().get(player);
 
-                if (identifier.equalsIgnoreCase("rating")) {
-                    user = plugin.getUserManager().get(player);
+        if (user == null) {
+            return color(plugin.getConfiguration().getUserNotFound());
+        }
 
-                    if (user == null) {
-                        return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                    }
+        return String.valueOf(match.getKit() != null ? user.getRating(match.getKit()) : user.getRating());
+    }
 
-                    return String.valueOf(match.getKit() != null ? user.getRating(match.getKit()) : user.getRating());
-                }
+    private String cached(final Player player, final String identifier, final ValueSupplier supplier) {
+        final long tick = System.currentTimeMillis() / 50L;
+        final TickValues cache = values.compute(player.getUniqueId(), (uuid, current) -> current != null && current.tick == tick ? current : new TickValues(tick));
 
-                if (identifier.startsWith("opponent")) {
-                    Player opponent = null;
+        if (tick - lastPrune >= PRUNE_INTERVAL) {
+            lastPrune = tick;
+            values.values().removeIf(entry -> entry.tick != tick);
+        }
 
-                    for (final Player matchPlayer : match.getPlayers()) {
-                        if (!matchPlayer.equals(player)) {
-                            opponent = matchPlayer;
-                            break;
-                        }
-                    }
+        synchronized (cache) {
+            if (cache.values.containsKey(identifier)) {
+                return cache.values.get(identifier);
+            }
 
-                    if (opponent == null) {
-                        return StringUtil.color(plugin.getConfiguration().getNoOpponent());
-                    }
+            final String value = supplier.get();
+            cache.values.put(identifier, value);
+            return value;
+        }
+    }
 
-                    if (identifier.equalsIgnoreCase("opponent")) {
-                        return opponent.getName();
-                    }
+    private static String color(final String message) {
+        return StringUtil.color(message);
+    }
 
-                    if (identifier.endsWith("_health")) {
-                        return String.valueOf(Math.ceil(opponent.getHealth()) * 0.5);
-                    }
+    private static float wlr(int wins, int losses) {
+        if (wins == 0) {
+            return losses == 0 ? 0.0F : (float)(-losses);
+        } else if (losses == 0) {
+            return (float)wins;
+        } else {
+            return (float)(wins / losses);
+        }
+    }
+
+    private interface ValueSupplier {
 
-                    if (identifier.endsWith("_ping")) {
-                        return String.valueOf(Ping.getPing(opponent));
-                    }
+        String get();
+    }
 
-                    user = plugin.getUserManager().get(opponent);
+    private static class TickValues {
 
-                    if (user == null) {
-                        return StringUtil.color(plugin.getConfiguration().getUserNotFound());
-                    }
+        private final long tick;
+        private final Map<String, String> values = new HashMap<>();
 
-                    return String.valueOf(match.getKit() != null ? user.getRating(match.getKit()) : user.getRating());
-                }
-            }
-            return null;
+        TickValues(final long tick) {
+            this.tick = tick;
+        }
+    }
+
+    public class Placeholders extends PlaceholderExpansion {
+        @Override
+        public String getIdentifier() {
+            return "duels";
         }
 
-        private float wlr(int wins, int losses) {
-            if (wins == 0) {
-                return losses == 0 ? 0.0F : (float)(-losses);
-            } else if (losses == 0) {
-                return (float)wins;
-            } else {
-                return (float)(wins / losses);
+        @Override
+        public String getAuthor() {
+            return "DUMBO";
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public boolean persist() {
+            return true;
+        }
+
+        @Override
+        public @Nullable String onPlaceholderRequest(Player player, @NotNull String identifier) {
+            if (player == null) {
+                return "Player is required";
             }
+
+            return getResolver(identifier).apply(player);
         }
     }
-}
\ No newline at end of file
+}
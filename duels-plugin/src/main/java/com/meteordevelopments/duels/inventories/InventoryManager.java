@@ -11,20 +11,21 @@ import com.meteordevelopments.duels.util.TextBuilder;
 import com.meteordevelopments.duels.util.gui.GuiListener;
 import net.md_5.bungee.api.chat.ClickEvent;
 import org.bukkit.entity.Player;
-import space.arim.morepaperlib.scheduling.ScheduledTask;
 
 import java.util.*;
 
 public class InventoryManager implements Loadable {
 
+    private static final long EXPIRE_TICKS = 20L * 60 * 5;
+
     private final DuelsPlugin plugin;
     private final GuiListener<DuelsPlugin> guiListener;
+    // Snapshots are cheap to capture, guis are only built once a snapshot is viewed.
+    private final Map<UUID, InventorySnapshot> snapshots = new HashMap<>();
     private final Map<UUID, InventoryGui> inventories = new HashMap<>();
     private final Config config;
     private final Lang lang;
 
-    private ScheduledTask expireTask;
-
     public InventoryManager(final DuelsPlugin plugin) {
         this.plugin = plugin;
         this.config = plugin.getConfiguration();
@@ -34,41 +35,61 @@ public class InventoryManager implements Loadable {
 
     @Override
     public void handleLoad() {
-        this.expireTask = plugin.doSyncRepeat(() -> {
-            final long now = System.currentTimeMillis();
-
-            inventories.entrySet().removeIf(entry -> {
-                if (now - entry.getValue().getCreation() >= 1000L * 60 * 5) {
-                    guiListener.removeGui(entry.getValue());
-                    return true;
-                }
-
-                return false;
-            });
-        }, 20L, 20L * 5);
     }
 
     @Override
     public void handleUnload() {
-        plugin.cancelTask(expireTask);
+        snapshots.values().forEach(snapshot -> snapshot.expiry.cancel());
+        snapshots.clear();
+        inventories.values().forEach(guiListener::removeGui);
         inventories.clear();
     }
 
     public InventoryGui get(final UUID uuid) {
-        return inventories.get(uuid);
+        InventoryGui gui = inventories.get(uuid);
+
+        if (gui != null) {
+            return gui;
+        }
+
+        final InventorySnapshot snapshot = snapshots.get(uuid);
+
+        if (snapshot == null) {
+            return null;
+        }
+
+        gui = new InventoryGui(plugin, snapshot);
+        guiListener.addGui(gui);
+        inventories.put(uuid, gui);
+        return gui;
     }
 
     public void create(final Player player, final boolean dead) {
-        // Remove previously existing gui
-        InventoryGui gui = inventories.remove(player.getUniqueId());
+        final UUID uuid = player.getUniqueId();
+        // Remove previously existing snapshot and gui
+        remove(uuid);
+
+        final InventorySnapshot snapshot = new InventorySnapshot(player, dead);
+        snapshot.expiry = plugin.getTimerWheel().schedule(EXPIRE_TICKS, () -> {
+            if (snapshots.get(uuid) == snapshot) {
+                remove(uuid);
+            }
+        });
+        snapshots.put(uuid, snapshot);
+    }
+
+    private void remove(final UUID uuid) {
+        final InventorySnapshot snapshot = snapshots.remove(uuid);
+
+        if (snapshot != null) {
+            snapshot.expiry.cancel();
+        }
+
+        final InventoryGui gui = inventories.remove(uuid);
 
         if (gui != null) {
             guiListener.removeGui(gui);
         }
-
-        gui = new InventoryGui(plugin, player, dead);
-        guiListener.addGui(gui);
-        inventories.put(player.getUniqueId(), gui);
     }
 
     public void handleMatchEnd(final DuelMatch match) {
@@ -0,0 +1,101 @@
+package com.meteordevelopments.duels.inventories;
+
+import com.meteordevelopments.duels.util.TimerWheel;
+import com.meteordevelopments.duels.util.compat.Items;
+import lombok.Getter;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * State of a player's inventory at the end of a match, from which the inventory view gui is built when requested.
+ */
+public final class InventorySnapshot {
+
+    // Player is resolved when the gui is built, so that players who left are not kept in memory.
+    @Getter
+    private final UUID uuid;
+    @Getter
+    private final String name;
+    // Empty slots are stored as null.
+    private final ItemStack[] contents;
+    private final ItemStack[] armor;
+    @Getter
+    private final int potions;
+    @Getter
+    private final Collection<PotionEffect> effects;
+    @Getter
+    private final double health;
+    @Getter
+    private final int foodLevel;
+    @Getter
+    private final boolean dead;
+
+    TimerWheel.Timeout expiry;
+
+    InventorySnapshot(final Player player, final boolean dead) {
+        final PlayerInventory inventory = player.getInventory();
+        this.uuid = player.getUniqueId();
+        this.name = player.getName();
+        this.contents = copy(inventory.getContents());
+        this.armor = copy(inventory.getArmorContents());
+
+        int potions = 0;
+
+        for (final ItemStack item : contents) {
+            if (item != null && Items.isHealSplash(item)) {
+                potions++;
+            }
+        }
+
+        this.potions = potions;
+        this.effects = Collections.unmodifiableList(new ArrayList<>(player.getActivePotionEffects()));
+        this.health = player.getHealth();
+        this.foodLevel = player.getFoodLevel();
+        this.dead = dead;
+    }
+
+    // Items returned by the inventory mirror the player's slots, so they are cloned to keep the snapshot unchanged.
+    private static ItemStack[] copy(final ItemStack[] items) {
+        final ItemStack[] copy = new ItemStack[items.length];
+
+        for (int i = 0; i < items.length; i++) {
+            final ItemStack item = items[i];
+
+            if (item != null && item.getType() != Material.AIR) {
+                copy[i] = item.clone();
+            }
+        }
+
+        return copy;
+    }
+
+    /**
+     * @return Item in the given inventory slot or null if the slot was empty. The item should not be modified.
+     */
+    public ItemStack getContent(final int index) {
+        return contents[index];
+    }
+
+    public int getContentsSize() {
+        return contents.length;
+    }
+
+    /**
+     * @return Armor piece in the given armor slot, starting from boots, or null if the slot was empty. The item should not be modified.
+     */
+    public ItemStack getArmor(final int index) {
+        return armor[index];
+    }
+
+    public int getArmorSize() {
+        return armor.length;
+    }
+}
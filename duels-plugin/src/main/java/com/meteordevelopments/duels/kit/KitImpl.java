@@ -36,6 +36,9 @@ public class KitImpl extends BaseButton implements Kit {
     @Setter(value = AccessLevel.PACKAGE)
     private boolean removed;
 
+    // Items indexed by slot, built from items on first equip. Items are only filled before the kit is registered.
+    private volatile Loadout loadout;
+
     public KitImpl(final DuelsPlugin plugin, final String name, final ItemStack displayed, final boolean usePermission,
                    final boolean arenaSpecific, final Set<Characteristic> characteristics) {
         super(plugin, displayed != null ? displayed : ItemBuilder
@@ -101,7 +104,27 @@ public class KitImpl extends BaseButton implements Kit {
             return false;
         }
 
-        InventoryUtil.fillFromMap(player.getInventory(), items);
+        Loadout loadout = this.loadout;
+
+        if (loadout == null) {
+            this.loadout = loadout = new Loadout(InventoryUtil.toContents(items), InventoryUtil.toArmor(items));
+        }
+
+        // Inventories copy the given items, so the same arrays are reused for every equip.
+        final PlayerInventory inventory = player.getInventory();
+        final ItemStack[] contents = loadout.contents;
+
+        // Only the kit's own slots are written, setContents would clear every other slot.
+        for (int slot = 0; slot < contents.length; slot++) {
+            if (contents[slot] != null) {
+                inventory.setItem(slot, contents[slot]);
+            }
+        }
+
+        if (loadout.armor != null) {
+            inventory.setArmorContents(loadout.armor);
+        }
+
         player.updateInventory();
         return true;
     }
@@ -144,6 +167,17 @@ public class KitImpl extends BaseButton implements Kit {
         return Objects.hash(name);
     }
 
+    private static class Loadout {
+
+        private final ItemStack[] contents;
+        private final ItemStack[] armor;
+
+        Loadout(final ItemStack[] contents, final ItemStack[] armor) {
+            this.contents = contents;
+            this.armor = armor;
+        }
+    }
+
     public enum Characteristic {
         SOUP,
         SUMO,
@@ -153,5 +187,12 @@ public class KitImpl extends BaseButton implements Kit {
         LOKA,
         BOXING,
         ROUNDS3;
+
+        /**
+         * @return bit of this characteristic in a mask of characteristics.
+         */
+        public int getFlag() {
+            return 1 << ordinal();
+        }
     }
 }
\ No newline at end of file
@@ -28,14 +28,18 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 public class KitManagerImpl implements Loadable, KitManager {
 
     private static final String FILE_NAME = "kits.json";
+    private static final String LEGACY_FILE_NAME = "kits.json.legacy";
 
     private static final String ERROR_NOT_ALPHANUMERIC = "&c&lCould not load kit %s: Name is not alphanumeric.";
     private static final String KITS_LOADED = "&2Loaded %s kit(s).";
+    private static final String KITS_MIGRATED = "&2Converted %s kit(s) to the compact item format, previous file was saved as " + LEGACY_FILE_NAME + ".";
 
     private final DuelsPlugin plugin;
     private final Config config;
@@ -58,11 +62,14 @@ public class KitManagerImpl implements Loadable, KitManager {
     public void handleLoad() throws IOException {
         gui = new MultiPageGui<>(plugin, lang.getMessage("GUI.kit-selector.title"), config.getKitSelectorRows(), kits.values());
         gui.setSpaceFiller(Items.from(config.getKitSelectorFillerType(), config.getKitSelectorFillerData()));
+        gui.setRebuildScheduler(plugin::doSync);
         gui.setPrevButton(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.kit-selector.buttons.previous-page.name")).build());
         gui.setNextButton(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.kit-selector.buttons.next-page.name")).build());
         gui.setEmptyIndicator(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.kit-selector.buttons.empty.name")).build());
         plugin.getGuiListener().addGui(gui);
 
+        int legacy = 0;
+
         if (FileUtil.checkNonEmpty(file, true)) {
             try (final Reader reader = new InputStreamReader(new FileInputStream(file), Charsets.UTF_8)) {
                 final Map<String, KitData> data = JsonUtil.getObjectMapper().readValue(reader, new TypeReference<LinkedHashMap<String, KitData>>() {
@@ -75,12 +82,23 @@ public class KitManagerImpl implements Loadable, KitManager {
                             continue;
                         }
 
+                        if (entry.getValue().isLegacy()) {
+                            legacy++;
+                        }
+
                         kits.put(entry.getKey(), entry.getValue().toKit(plugin));
                     }
                 }
             }
         }
 
+        // Rewrite kits stored in the legacy item format once, keeping a copy of the original file.
+        if (legacy > 0) {
+            Files.copy(file.toPath(), new File(plugin.getDataFolder(), LEGACY_FILE_NAME).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            saveKits();
+            DuelsPlugin.sendMessage(String.format(KITS_MIGRATED, legacy));
+        }
+
         DuelsPlugin.sendMessage(String.format(KITS_LOADED, kits.size()));
         gui.calculatePages();
     }
@@ -0,0 +1,334 @@
+package com.meteordevelopments.duels.listeners;
+
+import com.meteordevelopments.duels.DuelsPlugin;
+import com.meteordevelopments.duels.arena.ArenaImpl;
+import com.meteordevelopments.duels.arena.ArenaManagerImpl;
+import com.meteordevelopments.duels.config.Config;
+import com.meteordevelopments.duels.match.BlockJournal;
+import com.meteordevelopments.duels.match.DuelMatch;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Waterlogged;
+import org.bukkit.entity.*;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records block changes near arenas with an ongoing match, so that they can be rolled back once the match ends.
+ * Only changes caused by the match's players, their entities or blocks they already changed are recorded, so that
+ * builds of other players near an arena are left alone.
+ */
+public class BlockTrackingListener implements Listener {
+
+    private static final Set<Material> LIQUIDS = EnumSet.of(Material.WATER, Material.LAVA);
+    private static final BlockFace[] FACES = {BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST};
+
+    private final Config config;
+    private final ArenaManagerImpl arenaManager;
+
+    public BlockTrackingListener(final DuelsPlugin plugin) {
+        this.config = plugin.getConfiguration();
+        this.arenaManager = plugin.getArenaManager();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    private DuelMatch getMatch(final Block block) {
+        if (!config.isArenaRollbackEnabled()) {
+            return null;
+        }
+
+        final ArenaImpl arena = arenaManager.getTracking(block);
+
+        // Match is null while the arena is being restored
+        return arena != null ? arena.getMatch() : null;
+    }
+
+    /**
+     * @return true if the entity is a player of the match or was spawned, shot or ignited by one.
+     */
+    private boolean isCausedBy(final DuelMatch match, final Entity entity) {
+        if (entity == null) {
+            return false;
+        }
+
+        if (entity instanceof Player) {
+            return match.getAllPlayers().contains(entity);
+        }
+
+        if (entity instanceof Projectile) {
+            final Object shooter = ((Projectile) entity).getShooter();
+            return shooter instanceof Player && match.getAllPlayers().contains(shooter);
+        }
+
+        if (entity instanceof TNTPrimed) {
+            final Entity source = ((TNTPrimed) entity).getSource();
+
+            // Ignited by redstone or fire, count it if the tnt was placed during the match
+            if (source == null) {
+                return match.getBlockJournal().isRecorded(entity.getLocation().getBlock());
+            }
+
+            return isCausedBy(match, source);
+        }
+
+        return match.placedEntities.contains(entity);
+    }
+
+    private boolean isNearRecorded(final BlockJournal journal, final Block block) {
+        for (final BlockFace face : FACES) {
+            if (journal.isRecorded(block.getRelative(face))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void record(final Block block, final Entity cause) {
+        final DuelMatch match = getMatch(block);
+
+        if (match != null && isCausedBy(match, cause)) {
+            match.getBlockJournal().record(block);
+        }
+    }
+
+    private void record(final BlockState state, final Entity cause) {
+        final DuelMatch match = getMatch(state.getBlock());
+
+        if (match != null && isCausedBy(match, cause)) {
+            match.getBlockJournal().record(state);
+        }
+    }
+
+    // Records changes made by the environment next to blocks changed during the match, such as forming obsidian.
+    private void recordNear(final Block block) {
+        final DuelMatch match = getMatch(block);
+
+        if (match != null && isNearRecorded(match.getBlockJournal(), block)) {
+            match.getBlockJournal().record(block);
+        }
+    }
+
+    // Records changes spreading from a block changed during the match, such as fire.
+    private void recordFrom(final Block source, final Block block) {
+        final DuelMatch match = getMatch(block);
+
+        if (match != null && source != null && match.getBlockJournal().isRecorded(source)) {
+            match.getBlockJournal().record(block);
+        }
+    }
+
+    private boolean isLiquid(final Block block) {
+        if (LIQUIDS.contains(block.getType())) {
+            return true;
+        }
+
+        final BlockData data = block.getBlockData();
+        return data instanceof Waterlogged && ((Waterlogged) data).isWaterlogged();
+    }
+
+    // Called after the block was placed, so the replaced state is recorded instead.
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockPlaceEvent event) {
+        if (event instanceof BlockMultiPlaceEvent) {
+            ((BlockMultiPlaceEvent) event).getReplacedBlockStates().forEach(state -> record(state, event.getPlayer()));
+            return;
+        }
+
+        record(event.getBlockReplacedState(), event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockBreakEvent event) {
+        record(event.getBlock(), event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final PlayerBucketEmptyEvent event) {
+        record(event.getBlock(), event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final PlayerBucketFillEvent event) {
+        record(event.getBlock(), event.getPlayer());
+    }
+
+    // Liquids spilled during a match are kept inside the tracked area, so every block they change is recorded.
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void on(final BlockFromToEvent event) {
+        if (!config.isArenaRollbackEnabled()) {
+            return;
+        }
+
+        final Block from = event.getBlock();
+        final Block to = event.getToBlock();
+        final ArenaImpl arena = arenaManager.getTracking(from);
+
+        if (arena == null) {
+            return;
+        }
+
+        final DuelMatch match = arena.getMatch();
+
+        // Prevents liquids that were not restored yet from flowing into restored blocks
+        if (match == null) {
+            if (isLiquid(from)) {
+                event.setCancelled(true);
+            }
+
+            return;
+        }
+
+        final BlockJournal journal = match.getBlockJournal();
+
+        if (!journal.isRecorded(from)) {
+            return;
+        }
+
+        if (isLiquid(from) && !arena.isTracked(to)) {
+            event.setCancelled(true);
+            return;
+        }
+
+        journal.record(to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockFormEvent event) {
+        recordNear(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockSpreadEvent event) {
+        recordFrom(event.getSource(), event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockFadeEvent event) {
+        recordNear(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockBurnEvent event) {
+        if (event.getIgnitingBlock() != null) {
+            recordFrom(event.getIgnitingBlock(), event.getBlock());
+        } else {
+            recordNear(event.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockIgniteEvent event) {
+        final Entity cause = event.getPlayer() != null ? event.getPlayer() : event.getIgnitingEntity();
+
+        if (cause != null) {
+            record(event.getBlock(), cause);
+        } else {
+            recordFrom(event.getIgnitingBlock(), event.getBlock());
+        }
+    }
+
+    // Exploding blocks such as beds are recorded once placed, so the blocks of their explosion are recorded too.
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockExplodeEvent event) {
+        final DuelMatch match = getMatch(event.getBlock());
+
+        if (match == null || !match.getBlockJournal().isRecorded(event.getBlock())) {
+            return;
+        }
+
+        event.blockList().forEach(block -> record(match, block));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final EntityExplodeEvent event) {
+        final DuelMatch match = event.blockList().isEmpty() ? null : getMatch(event.blockList().get(0));
+
+        if (match == null || !isCausedBy(match, event.getEntity())) {
+            return;
+        }
+
+        event.blockList().forEach(block -> record(match, block));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final EntityChangeBlockEvent event) {
+        final Entity entity = event.getEntity();
+        final DuelMatch match = getMatch(event.getBlock());
+
+        if (match == null) {
+            return;
+        }
+
+        final BlockJournal journal = match.getBlockJournal();
+
+        // Blocks falling from a changed position are tracked, so that the block they land on is recorded as well
+        if (entity instanceof FallingBlock && journal.isRecorded(event.getBlock())) {
+            match.placedEntities.add(entity);
+            return;
+        }
+
+        if (isCausedBy(match, entity)) {
+            journal.record(event.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockPistonExtendEvent event) {
+        recordPiston(event.getBlock(), event.getDirection(), event.getBlocks());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(final BlockPistonRetractEvent event) {
+        recordPiston(event.getBlock(), event.getDirection(), event.getBlocks());
+    }
+
+    // Moved blocks leave their position and enter the next one, both are recorded along with the piston head.
+    private void recordPiston(final Block piston, final BlockFace direction, final List<Block> blocks) {
+        final DuelMatch match = getMatch(piston);
+
+        if (match == null) {
+            return;
+        }
+
+        final BlockJournal journal = match.getBlockJournal();
+        boolean caused = journal.isRecorded(piston);
+
+        for (int i = 0; !caused && i < blocks.size(); i++) {
+            caused = journal.isRecorded(blocks.get(i));
+        }
+
+        if (!caused) {
+            return;
+        }
+
+        record(match, piston.getRelative(direction));
+
+        for (final Block block : blocks) {
+            record(match, block);
+            record(match, block.getRelative(direction));
+            record(match, block.getRelative(direction.getOppositeFace()));
+        }
+    }
+
+    // Blocks outside of the match's arena are left to the arena tracking them.
+    private void record(final DuelMatch match, final Block block) {
+        if (getMatch(block) == match) {
+            match.getBlockJournal().record(block);
+        }
+    }
+}
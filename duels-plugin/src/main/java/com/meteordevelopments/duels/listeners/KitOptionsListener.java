@@ -38,10 +38,16 @@ public class KitOptionsListener implements Listener {
 
     private static final String METADATA_KEY = "Duels-MaxNoDamageTicks";
 
+    // Characteristics applied by the damage handler.
+    private static final int DAMAGE_FLAGS = Characteristic.ROUNDS3.getFlag() | Characteristic.SUMO.getFlag()
+            | Characteristic.BOXING.getFlag() | Characteristic.LOKA.getFlag() | Characteristic.COMBO.getFlag();
+
     private final DuelsPlugin plugin;
     private final Config config;
     private final ArenaManagerImpl arenaManager;
     private final DuelManager duelManager;
+    // Since 1.14, combo resets the no damage ticks on every hit instead of changing them for the whole match.
+    private final boolean comboPerHit = !CompatUtil.isPre1_14();
 
     public KitOptionsListener(final DuelsPlugin plugin) {
         this.plugin = plugin;
@@ -50,12 +56,25 @@ public class KitOptionsListener implements Listener {
         this.duelManager = plugin.getDuelManager();
 
         Bukkit.getPluginManager().registerEvents(this, plugin);
-        Bukkit.getPluginManager().registerEvents(CompatUtil.isPre1_14() ? new ComboPre1_14Listener() : new ComboPost1_14Listener(), plugin);
+
+        if (!comboPerHit) {
+            Bukkit.getPluginManager().registerEvents(new ComboPre1_14Listener(), plugin);
+        }
     }
 
-    private boolean isEnabled(final ArenaImpl arena, final Characteristic characteristic) {
+    /**
+     * Resolves the match of the player once and returns it only if its kit has any of the given characteristics, so
+     * that players in matches without a relevant characteristic are skipped after a single lookup.
+     */
+    private DuelMatch getMatch(final Player player, final int flags) {
+        final ArenaImpl arena = arenaManager.get(player);
+
+        if (arena == null) {
+            return null;
+        }
+
         final DuelMatch match = arena.getMatch();
-        return match != null && match.getKit() != null && match.getKit().hasCharacteristic(characteristic);
+        return match != null && match.hasAnyCharacteristic(flags) ? match : null;
     }
 
     @EventHandler
@@ -65,123 +84,129 @@ public class KitOptionsListener implements Listener {
         }
 
         final Player player = (Player) event.getEntity();
-        final ArenaImpl arena = arenaManager.get(player);
+        final DuelMatch match = getMatch(player, DAMAGE_FLAGS);
 
-        if (arena == null) {
+        if (match == null) {
             return;
         }
 
-        final DuelMatch match = arena.getMatch();
-        if (match == null) {
-            return;
+        // EntityDamageByEntityEvent shares the handlers of EntityDamageEvent, so hits are handled here as well.
+        if (event instanceof EntityDamageByEntityEvent) {
+            if (match.hasCharacteristic(Characteristic.LOKA)) {
+                event.setDamage(event.getDamage() * 1.33);
+            }
+
+            if (comboPerHit && match.hasCharacteristic(Characteristic.COMBO)) {
+                handleCombo(player, event);
+            }
         }
 
         // For ROUNDS3, if damage would kill the player, handle round end
-        if (isEnabled(arena, Characteristic.ROUNDS3)) {
-            double finalHealth = player.getHealth() - event.getFinalDamage();
-            if (finalHealth <= 0) {
-                // Cancel the damage event immediately to prevent any delayed damage
-                event.setCancelled(true);
-
-                // Find the winner (the other player)
-                Player winner = match.getAlivePlayers().stream()
-                        .filter(p -> !p.equals(player))
-                        .findFirst()
-                        .orElse(null);
-
-                if (winner != null) {
-                    // Add round win
-                    match.addRoundWin(winner);
-
-                    if (match.hasWonMatch(winner)) {
-                        // On final round, let the damage go through to kill the player
-                        match.markAsDead(player);
-                        // Let DuelManager handle the match end with all effects
-                        // Pass the winner's current health for the death message
-                        double winnerHealth = Math.ceil(winner.getHealth()) * 0.5;
-                        arena.broadcast(plugin.getLang().getMessage("DUEL.on-death.with-killer",
-                                "name", player.getName(),
-                                "killer", winner.getName(),
-                                "health", winnerHealth));
-                        duelManager.handleMatchEnd(match, arena, player, player.getLocation(), winner);
-                        return;
-                    }
-
-                    // Cancel the damage event for non-final rounds
-                    event.setDamage(0);
-                    player.setHealth(player.getMaxHealth());
-
-                    // Start next round
-                    match.nextRound();
-
-                    // Reset both players' health and equipment
-                    for (Player p : match.getAllPlayers()) {
-                        PlayerUtil.reset(p);
-                        p.setHealth(p.getMaxHealth());
-                        p.setNoDamageTicks(40); // Give 2 seconds immunity to prevent damage carry-over
-                        if (match.getKit() != null) {
-                            match.getKit().equip(p);
-                        }
-                    }
-
-                    // Use the plugin's teleport system for both players
-                    Player[] players = match.getAllPlayers().toArray(new Player[0]);
-                    if (players.length >= 2) {
-                        plugin.getTeleport().tryTeleport(players[0], arena.getPosition(1));
-                        plugin.getTeleport().tryTeleport(players[1], arena.getPosition(2));
-                    }
-
-                    // Broadcast round end and status
-                    arena.broadcast(plugin.getLang().getMessage("DUEL.rounds.round-end",
-                            "round", match.getCurrentRound() - 1,
-                            "winner", winner.getName()));
-
-                    arena.broadcast(plugin.getLang().getMessage("DUEL.rounds.round-status",
-                            "player1", players[0].getName(),
-                            "wins1", match.getRoundWins(players[0]),
-                            "player2", players[1].getName(),
-                            "wins2", match.getRoundWins(players[1])));
-
-                    // Check for match point
-                    if (match.getRoundWins(winner) == 1) {
-                        arena.broadcast(plugin.getLang().getMessage("DUEL.rounds.match-point",
-                                "player", winner.getName()));
-                    }
-
-                    // Start countdown and announce new round
-                    arena.broadcast(plugin.getLang().getMessage("DUEL.rounds.round-start",
-                            "round", match.getCurrentRound()));
-
-                    DuelCountdown countdown = new DuelCountdown(plugin, arena, match);
-                    arena.setCountdown(countdown);
-                    countdown.startCountdown(0L, 20L);
-                }
-                return;
-            }
+        if (match.hasCharacteristic(Characteristic.ROUNDS3) && player.getHealth() - event.getFinalDamage() <= 0) {
+            handleRoundEnd(event, player, match);
+            return;
         }
 
-        if (!isEnabled(arena, Characteristic.SUMO) && !isEnabled(arena, Characteristic.BOXING)) {
+        if (!match.hasCharacteristic(Characteristic.SUMO) && !match.hasCharacteristic(Characteristic.BOXING)) {
             return;
         }
 
         event.setDamage(0);
     }
 
-    @EventHandler
-    public void on(final EntityDamageByEntityEvent event) {
-        if (!(event.getEntity() instanceof Player)) {
+    private void handleRoundEnd(final EntityDamageEvent event, final Player player, final DuelMatch match) {
+        final ArenaImpl arena = match.getArena();
+
+        // Cancel the damage event immediately to prevent any delayed damage
+        event.setCancelled(true);
+
+        // Find the winner (the other player)
+        Player winner = match.getAlivePlayers().stream()
+                .filter(p -> !p.equals(player))
+                .findFirst()
+                .orElse(null);
+
+        if (winner == null) {
             return;
         }
 
-        final Player player = (Player) event.getEntity();
-        final ArenaImpl arena = arenaManager.get(player);
-
-        if (arena == null || !isEnabled(arena, Characteristic.LOKA)) {
+        // Add round win
+        match.addRoundWin(winner);
+
+        if (match.hasWonMatch(winner)) {
+            // On final round, let the damage go through to kill the player
+            match.markAsDead(player);
+            // Let DuelManager handle the match end with all effects
+            // Pass the winner's current health for the death message
+            double winnerHealth = Math.ceil(winner.getHealth()) * 0.5;
+            arena.broadcast(plugin.getLang().getMessage("DUEL.on-death.with-killer",
+                    "name", player.getName(),
+                    "killer", winner.getName(),
+                    "health", winnerHealth));
+            duelManager.handleMatchEnd(match, arena, player, player.getLocation(), winner);
             return;
         }
-        double originalDamage = event.getDamage();
-        double increaseDamage = originalDamage * 1.33;
-        event.setDamage(increaseDamage);
+
+        // Cancel the damage event for non-final rounds
+        event.setDamage(0);
+        player.setHealth(player.getMaxHealth());
+
+        // Start next round
+        match.nextRound();
+
+        // Reset both players' health and equipment
+        for (Player p : match.getAllPlayers()) {
+            PlayerUtil.reset(p);
+            p.setHealth(p.getMaxHealth());
+            p.setNoDamageTicks(40); // Give 2 seconds immunity to prevent damage carry-over
+            if (match.getKit() != null) {
+                match.getKit().equip(p);
+            }
+        }
+
+        // Use the plugin's teleport system for both players
+        Player[] players = match.getAllPlayers().toArray(new Player[0]);
+        if (players.length >= 2) {
+            plugin.getTeleport().tryTeleport(players[0], arena.getPosition(1));
+            plugin.getTeleport().tryTeleport(players[1], arena.getPosition(2));
+        }
+
+        // Broadcast round end and status
+        arena.broadcast(plugin.getLang().getMessage("DUEL.rounds.round-end",
+                "round", match.getCurrentRound() - 1,
+                "winner", winner.getName()));
+
+        arena.broadcast(plugin.getLang().getMessage("DUEL.rounds.round-status",
+                "player1", players[0].getName(),
+                "wins1", match.getRoundWins(players[0]),
+                "player2", players[1].getName(),
+                "wins2", match.getRoundWins(players[1])));
+
+        // Check for match point
+        if (match.getRoundWins(winner) == 1) {
+            arena.broadcast(plugin.getLang().getMessage("DUEL.rounds.match-point",
+                    "player", winner.getName()));
+        }
+
+        // Start countdown and announce new round
+        arena.broadcast(plugin.getLang().getMessage("DUEL.rounds.round-start",
+                "round", match.getCurrentRound()));
+
+        DuelCountdown countdown = new DuelCountdown(plugin, arena, match);
+        arena.setCountdown(countdown);
+        countdown.startCountdown(0L, 20L);
+    }
+
+    private void handleCombo(final Player player, final EntityDamageEvent event) {
+        boolean isCritical = !player.isOnGround() &&
+                !player.isSneaking() &&
+                player.getFallDistance() > 0;
+        if (isCritical) {
+            // Cancel the extra critical damage by setting it to normal attack damage
+            event.setDamage(event.getDamage() / 1.5); // Critical hits are 150%, reverse it
+        }
+
+        plugin.doSyncAfter(() -> player.setNoDamageTicks(0), 1);
     }
 
     @EventHandler
@@ -191,9 +216,8 @@ public class KitOptionsListener implements Listener {
         }
 
         final Player player = (Player) event.getEntity();
-        final ArenaImpl arena = arenaManager.get(player);
 
-        if (arena == null || !isEnabled(arena, Characteristic.HUNGER)) {
+        if (getMatch(player, Characteristic.HUNGER.getFlag()) == null) {
             return;
         }
 
@@ -298,9 +322,20 @@ public class KitOptionsListener implements Listener {
     @EventHandler
     public void on(final PlayerMoveEvent event) {
         final Player player = event.getPlayer();
-        final ArenaImpl arena = arenaManager.get(player);
 
-        if (player.isDead() || arena == null || !isEnabled(arena, Characteristic.SUMO) || arena.isEndGame()) {
+        if (player.isDead()) {
+            return;
+        }
+
+        final DuelMatch match = getMatch(player, Characteristic.SUMO.getFlag());
+
+        if (match == null) {
+            return;
+        }
+
+        final ArenaImpl arena = match.getArena();
+
+        if (arena.isEndGame()) {
             return;
         }
 
@@ -331,9 +366,8 @@ public class KitOptionsListener implements Listener {
         }
 
         final Player player = event.getPlayer();
-        final ArenaImpl arena = arenaManager.get(player);
 
-        if (arena == null || !isEnabled(arena, Characteristic.SOUP)) {
+        if (getMatch(player, Characteristic.SOUP.getFlag()) == null) {
             return;
         }
 
@@ -374,9 +408,8 @@ public class KitOptionsListener implements Listener {
         }
 
         final Player player = (Player) event.getEntity();
-        final ArenaImpl arena = arenaManager.get(player);
 
-        if (arena == null || !isEnabled(arena, Characteristic.UHC)) {
+        if (getMatch(player, Characteristic.UHC.getFlag()) == null) {
             return;
         }
 
@@ -387,9 +420,7 @@ public class KitOptionsListener implements Listener {
 
         @EventHandler
         public void on(final MatchStartEvent event) {
-            final ArenaImpl arena = arenaManager.get(event.getMatch().getArena().getName());
-
-            if (arena == null || !isEnabled(arena, Characteristic.COMBO)) {
+            if (!((DuelMatch) event.getMatch()).hasCharacteristic(Characteristic.COMBO)) {
                 return;
             }
 
@@ -401,15 +432,9 @@ public class KitOptionsListener implements Listener {
 
         @EventHandler
         public void on(final MatchEndEvent event) {
-            final ArenaImpl arena = arenaManager.get(event.getMatch().getArena().getName());
-
-            if (arena == null || !isEnabled(arena, Characteristic.COMBO)) {
-                return;
-            }
-
-            final DuelMatch match = arena.getMatch();
+            final DuelMatch match = (DuelMatch) event.getMatch();
 
-            if (match == null) {
+            if (!match.hasCharacteristic(Characteristic.COMBO)) {
                 return;
             }
 
@@ -424,31 +449,4 @@ public class KitOptionsListener implements Listener {
             });
         }
     }
-
-    private class ComboPost1_14Listener implements Listener {
-
-        @EventHandler
-        public void on(final EntityDamageByEntityEvent event) {
-            if (!(event.getEntity() instanceof Player)) {
-                return;
-            }
-
-            final Player player = (Player) event.getEntity();
-            final ArenaImpl arena = arenaManager.get(player);
-
-            if (arena == null || !isEnabled(arena, Characteristic.COMBO)) {
-                return;
-            }
-
-            boolean isCritical = !player.isOnGround() &&
-                    !player.isSneaking() &&
-                    player.getFallDistance() > 0;
-            if (isCritical) {
-                // Cancel the extra critical damage by setting it to normal attack damage
-                event.setDamage(event.getDamage() / 1.5); // Critical hits are 150%, reverse it
-            }
-
-            plugin.doSyncAfter(() -> player.setNoDamageTicks(0), 1);
-        }
-    }
-}
\ No newline at end of file
+}
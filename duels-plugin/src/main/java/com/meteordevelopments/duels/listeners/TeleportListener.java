@@ -2,6 +2,8 @@ package com.meteordevelopments.duels.listeners;
 
 import com.meteordevelopments.duels.DuelsPlugin;
 import com.meteordevelopments.duels.Permissions;
+import com.meteordevelopments.duels.api.event.match.MatchStartEvent;
+import com.meteordevelopments.duels.api.event.spectate.SpectateStartEvent;
 import com.meteordevelopments.duels.arena.ArenaManagerImpl;
 import com.meteordevelopments.duels.config.Lang;
 import com.meteordevelopments.duels.spectate.SpectateManagerImpl;
@@ -12,9 +14,15 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Prevents players teleporting to players in a match or in spectator mode.
@@ -25,6 +33,11 @@ public class TeleportListener implements Listener {
     private final ArenaManagerImpl arenaManager;
     private final SpectateManagerImpl spectateManager;
 
+    // Players in a match or spectating by the chunk they are in, updated as they move so that a teleport only checks
+    // the players around its destination. Entries are verified on lookup, so a stale entry is only an extra check.
+    private final Map<ChunkPosition, Set<Player>> chunks = new ConcurrentHashMap<>();
+    private final Map<UUID, ChunkPosition> positions = new ConcurrentHashMap<>();
+
     public TeleportListener(final DuelsPlugin plugin) {
         this.lang = plugin.getLang();
         this.arenaManager = plugin.getArenaManager();
@@ -39,6 +52,46 @@ public class TeleportListener implements Listener {
         return Math.abs(first.getX() - second.getX()) + Math.abs(first.getY() - second.getY()) + Math.abs(first.getZ() - second.getZ()) < 5;
     }
 
+    private boolean isProtected(final Player player) {
+        return arenaManager.isInMatch(player) || spectateManager.isSpectating(player);
+    }
+
+    private void update(final Player player, final Location location) {
+        final ChunkPosition current = positions.get(player.getUniqueId());
+        final ChunkPosition next = location.getWorld() != null && isProtected(player) ? new ChunkPosition(location) : null;
+
+        if (Objects.equals(current, next)) {
+            return;
+        }
+
+        if (current != null) {
+            chunks.computeIfPresent(current, (position, players) -> {
+                players.remove(player);
+                return players.isEmpty() ? null : players;
+            });
+        }
+
+        if (next == null) {
+            positions.remove(player.getUniqueId());
+            return;
+        }
+
+        positions.put(player.getUniqueId(), next);
+        chunks.compute(next, (position, players) -> {
+            if (players == null) {
+                players = ConcurrentHashMap.newKeySet();
+            }
+
+            players.add(player);
+            return players;
+        });
+    }
+
+    // Membership is set after the teleport into the arena, so the position is read again once it is.
+    private void updateLater(final Player player) {
+        DuelsPlugin.getMorePaperLib().scheduling().entitySpecificScheduler(player).runDelayed(() -> update(player, player.getLocation()), null, 1L);
+    }
+
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void on(final PlayerTeleportEvent event) {
         final Player player = event.getPlayer();
@@ -49,18 +102,79 @@ public class TeleportListener implements Listener {
         }
 
         final Location to = event.getTo();
-        final Set<Player> players = arenaManager.getPlayers();
-        players.addAll(spectateManager.getAllSpectators());
 
-        for (final Player target : players) {
-            if (target == null || player.equals(target) || !target.isOnline() || !isSimilar(target.getLocation(), to)) {
-                continue;
+        if (to == null || to.getWorld() == null) {
+            return;
+        }
+
+        final UUID world = to.getWorld().getUID();
+        final int chunkX = to.getBlockX() >> 4;
+        final int chunkZ = to.getBlockZ() >> 4;
+
+        // Players closer than 5 blocks to the destination are at most one chunk away from it.
+        for (int x = chunkX - 1; x <= chunkX + 1; x++) {
+            for (int z = chunkZ - 1; z <= chunkZ + 1; z++) {
+                final Set<Player> players = chunks.get(new ChunkPosition(world, x, z));
+
+                if (players == null) {
+                    continue;
+                }
+
+                for (final Player target : players) {
+                    if (player.equals(target) || !target.isOnline() || !isProtected(target) || !isSimilar(target.getLocation(), to)) {
+                        continue;
+                    }
+
+                    event.setCancelled(true);
+                    lang.sendMessage(player, "ERROR.duel.prevent-teleportation");
+                    return;
+                }
             }
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onTeleported(final PlayerTeleportEvent event) {
+        if (event.getTo() != null) {
+            update(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void on(final PlayerMoveEvent event) {
+        final Location from = event.getFrom();
+        final Location to = event.getTo();
 
-            event.setCancelled(true);
-            lang.sendMessage(player, "ERROR.duel.prevent-teleportation");
+        if (to == null || ((from.getBlockX() >> 4) == (to.getBlockX() >> 4) && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4) && from.getWorld() == to.getWorld())) {
             return;
         }
+
+        update(event.getPlayer(), to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void on(final MatchStartEvent event) {
+        for (final Player player : event.getPlayers()) {
+            updateLater(player);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void on(final SpectateStartEvent event) {
+        updateLater(event.getSource());
+    }
+
+    @EventHandler
+    public void on(final PlayerQuitEvent event) {
+        final Player player = event.getPlayer();
+        final ChunkPosition current = positions.remove(player.getUniqueId());
+
+        if (current != null) {
+            chunks.computeIfPresent(current, (position, players) -> {
+                players.remove(player);
+                return players.isEmpty() ? null : players;
+            });
+        }
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.LOWEST)
@@ -71,4 +185,40 @@ public class TeleportListener implements Listener {
         }
         player.closeInventory();
     }
+
+    private static final class ChunkPosition {
+
+        private final UUID world;
+        private final int x;
+        private final int z;
+
+        ChunkPosition(final UUID world, final int x, final int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        ChunkPosition(final Location location) {
+            this(location.getWorld().getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof ChunkPosition)) {
+                return false;
+            }
+
+            final ChunkPosition position = (ChunkPosition) other;
+            return x == position.x && z == position.z && world.equals(position.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * world.hashCode() + x) + z;
+        }
+    }
 }
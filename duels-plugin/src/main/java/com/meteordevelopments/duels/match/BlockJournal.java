@@ -0,0 +1,106 @@
+package com.meteordevelopments.duels.match;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records the original state of blocks changed during a match, so that they can be restored in reverse order once
+ * the match ends. Only the first change of each block is recorded and positions are packed into longs.
+ */
+public class BlockJournal {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Set<Long> recorded = new HashSet<>();
+    private World world;
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private BlockData[] states = new BlockData[INITIAL_CAPACITY];
+    private int size;
+
+    public void record(final Block block) {
+        record(block.getWorld(), block.getX(), block.getY(), block.getZ(), block.getBlockData());
+    }
+
+    /**
+     * Records the given state, used for events that are called after the block was already changed.
+     */
+    public void record(final BlockState state) {
+        record(state.getWorld(), state.getX(), state.getY(), state.getZ(), state.getBlockData());
+    }
+
+    private void record(final World world, final int x, final int y, final int z, final BlockData data) {
+        if (this.world == null) {
+            this.world = world;
+        } else if (!this.world.equals(world)) {
+            return;
+        }
+
+        final long position = pack(x, y, z);
+
+        if (!recorded.add(position)) {
+            return;
+        }
+
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+        }
+
+        positions[size] = position;
+        states[size++] = data;
+    }
+
+    public boolean isRecorded(final Block block) {
+        return block.getWorld().equals(world) && recorded.contains(pack(block.getX(), block.getY(), block.getZ()));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Restores up to the given amount of blocks, starting from the most recent change.
+     *
+     * @param budget Max amount of blocks to restore
+     * @return true if all recorded blocks were restored, false otherwise
+     */
+    public boolean rollback(final int budget) {
+        final int end = Math.max(size - budget, 0);
+
+        while (size > end) {
+            final long position = positions[--size];
+            world.getBlockAt(unpackX(position), unpackY(position), unpackZ(position)).setBlockData(states[size], false);
+            states[size] = null;
+            recorded.remove(position);
+        }
+
+        return size == 0;
+    }
+
+    // Same layout as vanilla block positions: 26 bits for x and z, 12 bits for y.
+    private static long pack(final int x, final int y, final int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int unpackX(final long position) {
+        return (int) (position >> 38);
+    }
+
+    private static int unpackY(final long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    private static int unpackZ(final long position) {
+        return (int) (position << 26 >> 38);
+    }
+}
@@ -1,18 +1,14 @@
 package com.meteordevelopments.duels.match;
 
 import java.util.*;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
 
 import com.meteordevelopments.duels.DuelsPlugin;
 import com.meteordevelopments.duels.api.match.Match;
 import com.meteordevelopments.duels.arena.ArenaImpl;
 import com.meteordevelopments.duels.kit.KitImpl;
+import com.meteordevelopments.duels.kit.KitImpl.Characteristic;
 import com.meteordevelopments.duels.party.PartyManagerImpl;
 import com.meteordevelopments.duels.queue.Queue;
-import org.bukkit.Location;
-import org.bukkit.block.Block;
-import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
@@ -33,6 +29,8 @@ public class DuelMatch implements Match {
     private final ArenaImpl arena;
     @Getter
     private final KitImpl kit;
+    // Characteristics of the kit when the match started, as a mask of Characteristic#getFlag.
+    private final int characteristics;
     private final Map<UUID, List<ItemStack>> items;
     @Getter
     private final int bet;
@@ -45,22 +43,26 @@ public class DuelMatch implements Match {
     // Round tracking for ROUNDS3 characteristic
     @Getter
     private int currentRound = 0;
-    private final Map<Player, Integer> roundWins = new HashMap<>();
+    private final Map<UUID, Integer> roundWins = new HashMap<>();
 
-    public HashMap<Location, BlockData> brokenBlocks = new HashMap<>();
-    public List<Block> placedBlocks = new ArrayList<>();
-    public List<Block> liquids = new ArrayList<>();
+    @Getter
+    private final BlockJournal blockJournal = new BlockJournal();
     public List<Entity> placedEntities = new ArrayList<>();
     public List<Item> droppedItems = new ArrayList<>();
 
-    // Default value for players is false, which is set to true if player is killed in the match.
-    private final Map<Player, Boolean> players = new HashMap<>();
+    // Players that started the match and the ones not yet killed in the match, kept up to date on every change so
+    // that state queries do not allocate.
+    private final Map<UUID, Player> players = new HashMap<>();
+    private final Map<UUID, Player> alive = new HashMap<>();
+    private final Set<Player> allView = new PlayerView(players);
+    private final Set<Player> aliveView = new PlayerView(alive);
 
     public DuelMatch(final DuelsPlugin plugin, final ArenaImpl arena, final KitImpl kit, final Map<UUID, List<ItemStack>> items, final int bet, final Queue source) {
         this.partyManager = plugin.getPartyManager();
         this.creation = System.currentTimeMillis();
         this.arena = arena;
         this.kit = kit;
+        this.characteristics = kit != null ? kit.getCharacteristics().stream().mapToInt(Characteristic::getFlag).reduce(0, (a, b) -> a | b) : 0;
         this.items = items;
         this.bet = bet;
         this.source = source;
@@ -77,39 +79,68 @@ public class DuelMatch implements Match {
     public boolean isOwnInventory() {
         return kit == null;
     }
+
+    public boolean hasCharacteristic(final Characteristic characteristic) {
+        return (characteristics & characteristic.getFlag()) != 0;
+    }
+
+    /**
+     * @param flags mask of Characteristic#getFlag
+     * @return true if the kit of this match has any of the given characteristics.
+     */
+    public boolean hasAnyCharacteristic(final int flags) {
+        return (characteristics & flags) != 0;
+    }
     
     public void setFinished() {
         finished = true;
     }
 
     public void addPlayer(final Player player) {
-        players.put(player, false);
+        players.put(player.getUniqueId(), player);
+        alive.put(player.getUniqueId(), player);
     }
 
     public void markAsDead(final Player player) {
-        if (players.containsKey(player)) {
-            players.put(player, true);
-        }
+        alive.remove(player.getUniqueId());
     }
 
     public boolean isDead(final Player player) {
-        return players.getOrDefault(player, true);
+        return !alive.containsKey(player.getUniqueId());
     }
 
+    /**
+     * @return unmodifiable view of the players not killed in the match, copy it before removing players while iterating.
+     */
     public Set<Player> getAlivePlayers() {
-        return players.entrySet().stream().filter(entry -> !entry.getValue()).map(Entry::getKey).collect(Collectors.toSet());
+        return aliveView;
     }
 
+    /**
+     * @return unmodifiable view of the players that started the match.
+     */
     public Set<Player> getAllPlayers() {
-        return players.keySet();
+        return allView;
     }
 
     public int size() {
-        return getAlivePlayers().size();
+        return alive.size();
     }
 
     public List<ItemStack> getItems() {
-        return items != null ? items.values().stream().flatMap(Collection::stream).collect(Collectors.toList()) : Collections.emptyList();
+        if (items == null) {
+            return Collections.emptyList();
+        }
+
+        int size = 0;
+
+        for (final List<ItemStack> bet : items.values()) {
+            size += bet.size();
+        }
+
+        final List<ItemStack> result = new ArrayList<>(size);
+        items.values().forEach(result::addAll);
+        return result;
     }
 
     @NotNull
@@ -128,13 +159,13 @@ public class DuelMatch implements Match {
     @NotNull
     @Override
     public Set<Player> getPlayers() {
-        return Collections.unmodifiableSet(getAlivePlayers());
+        return aliveView;
     }
 
     @NotNull
     @Override
     public Set<Player> getStartingPlayers() {
-        return Collections.unmodifiableSet(getAllPlayers());
+        return allView;
     }
 
     @Override
@@ -143,11 +174,11 @@ public class DuelMatch implements Match {
     }
 
     public int getRoundWins(Player player) {
-        return roundWins.getOrDefault(player, 0);
+        return roundWins.getOrDefault(player.getUniqueId(), 0);
     }
 
     public void addRoundWin(Player player) {
-        roundWins.put(player, getRoundWins(player) + 1);
+        roundWins.merge(player.getUniqueId(), 1, Integer::sum);
     }
 
     public boolean hasWonMatch(Player player) {
@@ -157,7 +188,7 @@ public class DuelMatch implements Match {
     public void nextRound() {
         currentRound++;
         // Reset player death states for next round
-        players.replaceAll((p, v) -> false);
+        alive.putAll(players);
     }
 
     public void handleMatchEnd(Player winner, Player loser) {
@@ -175,4 +206,31 @@ public class DuelMatch implements Match {
         // Set match as finished
         setFinished();
     }
+
+    // Set of players backed by a map of players by UUID, membership is checked by UUID.
+    private static class PlayerView extends AbstractSet<Player> {
+
+        private final Map<UUID, Player> players;
+        private final Collection<Player> values;
+
+        PlayerView(final Map<UUID, Player> players) {
+            this.players = players;
+            this.values = Collections.unmodifiableCollection(players.values());
+        }
+
+        @Override
+        public Iterator<Player> iterator() {
+            return values.iterator();
+        }
+
+        @Override
+        public int size() {
+            return players.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof Player && players.containsKey(((Player) o).getUniqueId());
+        }
+    }
 }
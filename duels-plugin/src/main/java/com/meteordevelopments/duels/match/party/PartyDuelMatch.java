@@ -29,6 +29,8 @@ public class PartyDuelMatch extends DuelMatch {
     @Getter
     private final Multimap<Party, Player> partyToPlayers = HashMultimap.create();
     private final Map<Party, Integer> alivePlayers = new HashMap<>();
+    // Amount of parties with at least one player alive.
+    private int aliveParties;
 
     public PartyDuelMatch(final DuelsPlugin plugin, final ArenaImpl arena, final KitImpl kit, final Map<UUID, List<ItemStack>> items, final int bet, final Queue source) {
         super(plugin,arena, kit, items, bet, source);
@@ -56,18 +58,18 @@ public class PartyDuelMatch extends DuelMatch {
         playerToParty.put(player, party);
         partyToPlayers.put(party, player);
 
-        final Integer count = alivePlayers.get(party);
-
-        if (count == null) {
-            alivePlayers.put(party, 1);
-            return;
+        if (alivePlayers.merge(party, 1, Integer::sum) == 1) {
+            aliveParties++;
         }
-
-        alivePlayers.put(party, count + 1);
     }
 
     @Override
     public void markAsDead(Player player) {
+        // Only count players that were still alive, so that a player is not subtracted from their party twice.
+        if (isDead(player)) {
+            return;
+        }
+
         super.markAsDead(player);
 
         final Party party = playerToParty.get(player);
@@ -83,10 +85,22 @@ public class PartyDuelMatch extends DuelMatch {
         }
 
         alivePlayers.put(party, count - 1);
+
+        if (count == 1) {
+            aliveParties--;
+        }
+    }
+
+    @Override
+    public void nextRound() {
+        super.nextRound();
+        alivePlayers.clear();
+        partyToPlayers.asMap().forEach((party, members) -> alivePlayers.put(party, members.size()));
+        aliveParties = alivePlayers.size();
     }
 
     @Override
     public int size() {
-        return (int) alivePlayers.entrySet().stream().filter(entry -> entry.getValue() > 0).count();
+        return aliveParties;
     }
 }
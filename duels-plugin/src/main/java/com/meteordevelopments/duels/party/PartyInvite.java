@@ -1,5 +1,6 @@
 package com.meteordevelopments.duels.party;
 
+import com.meteordevelopments.duels.util.TimerWheel;
 import lombok.Getter;
 import org.bukkit.entity.Player;
 
@@ -16,6 +17,8 @@ public class PartyInvite {
     private final UUID receiver;
     @Getter
     private final Party party;
+    // Removes this invite from PartyManagerImpl once it expires.
+    TimerWheel.Timeout expiry;
 
     public PartyInvite(final Player sender, final Player receiver, final Party party) {
         this.creation = System.currentTimeMillis();
@@ -5,6 +5,7 @@ import com.meteordevelopments.duels.config.Config;
 import com.meteordevelopments.duels.config.Lang;
 import com.meteordevelopments.duels.util.EventUtil;
 import com.meteordevelopments.duels.util.Loadable;
+import com.meteordevelopments.duels.util.TimerWheel;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -20,6 +21,7 @@ public class PartyManagerImpl implements Loadable, Listener {
     private final DuelsPlugin plugin;
     private final Config config;
     private final Lang lang;
+    private final TimerWheel timerWheel;
 
     private final Map<UUID, Map<UUID, PartyInvite>> invites = new HashMap<>();
 
@@ -32,6 +34,7 @@ public class PartyManagerImpl implements Loadable, Listener {
         this.plugin = plugin;
         this.config = plugin.getConfiguration();
         this.lang = plugin.getLang();
+        this.timerWheel = plugin.getTimerWheel();
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
@@ -60,6 +63,7 @@ public class PartyManagerImpl implements Loadable, Listener {
     @Override
     public void handleUnload() {
         plugin.cancelTask(autoDisbandTask);
+        invites.values().forEach(this::cancelExpiry);
         invites.clear();
         parties.clear();
         partyMap.clear();
@@ -83,18 +87,7 @@ public class PartyManagerImpl implements Loadable, Listener {
             return null;
         }
 
-        final PartyInvite invite = cached.get(target.getUniqueId());
-
-        if (invite == null) {
-            return null;
-        }
-
-        if (System.currentTimeMillis() - invite.getCreation() >= config.getPartyInviteExpiration() * 1000L) {
-            cached.remove(target.getUniqueId());
-            return null;
-        }
-
-        return invite;
+        return cached.get(target.getUniqueId());
     }
 
     public boolean hasInvite(final Player sender, final Player target) {
@@ -114,9 +107,10 @@ public class PartyManagerImpl implements Loadable, Listener {
             return null;
         }
 
-        if (System.currentTimeMillis() - invite.getCreation() >= config.getPartyInviteExpiration() * 1000L) {
-            cached.remove(target.getUniqueId());
-            return null;
+        invite.expiry.cancel();
+
+        if (cached.isEmpty()) {
+            invites.remove(sender.getUniqueId());
         }
 
         return invite;
@@ -128,10 +122,32 @@ public class PartyManagerImpl implements Loadable, Listener {
         }
 
         final PartyInvite invite = new PartyInvite(sender, target, party);
-        getInvites(sender, true).put(target.getUniqueId(), invite);
+        final PartyInvite previous = getInvites(sender, true).put(target.getUniqueId(), invite);
+
+        if (previous != null) {
+            previous.expiry.cancel();
+        }
+
+        invite.expiry = timerWheel.schedule(config.getPartyInviteExpiration() * 20L, () -> expire(invite));
         return true;
     }
 
+    private void cancelExpiry(final Map<UUID, PartyInvite> cached) {
+        cached.values().forEach(invite -> invite.expiry.cancel());
+    }
+
+    private void expire(final PartyInvite invite) {
+        final Map<UUID, PartyInvite> cached = invites.get(invite.getSender());
+
+        if (cached == null || !cached.remove(invite.getReceiver(), invite)) {
+            return;
+        }
+
+        if (cached.isEmpty()) {
+            invites.remove(invite.getSender());
+        }
+    }
+
     public Party get(final Player player) {
         return partyMap.get(player.getUniqueId());
     }
@@ -209,7 +225,11 @@ public class PartyManagerImpl implements Loadable, Listener {
     @EventHandler
     public void on(final PlayerQuitEvent event) {
         final Player player = event.getPlayer();
-        invites.remove(player.getUniqueId());
+        final Map<UUID, PartyInvite> cached = invites.remove(player.getUniqueId());
+
+        if (cached != null) {
+            cancelExpiry(cached);
+        }
 
         final Party party = get(player);
 
@@ -0,0 +1,377 @@
+package com.meteordevelopments.duels.player;
+
+import com.meteordevelopments.duels.DuelsPlugin;
+import com.meteordevelopments.duels.util.Log;
+import com.meteordevelopments.duels.util.inventory.ItemCodec;
+import com.meteordevelopments.duels.util.io.FileUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of cached {@link PlayerInfo}s, so that players get their items back even if the server stops
+ * without unloading the plugin. Every create appends the full info and every remove appends a tombstone. Records are
+ * encoded on the calling thread and written asynchronously in order. Once the journal holds more than twice as many
+ * records as live entries, it is compacted to contain only the live entries.
+ */
+final class PlayerInfoJournal {
+
+    private static final byte CREATE = 1;
+    private static final byte REMOVE = 2;
+    private static final int FORMAT_VERSION = 1;
+    private static final int MIN_COMPACT_RECORDS = 64;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String ERROR_WRITE = "Could not write to player cache journal!";
+    private static final String ERROR_TRUNCATED = "Player cache journal ended with an incomplete record, ignoring it.";
+
+    private final DuelsPlugin plugin;
+    private final File file;
+    private final Queue<Record> pending = new ConcurrentLinkedQueue<>();
+    // Latest encoded info of each player without a tombstone.
+    private final Map<UUID, byte[]> live = new HashMap<>();
+
+    private FileOutputStream stream;
+    private DataOutputStream out;
+    private int records;
+
+    PlayerInfoJournal(final DuelsPlugin plugin, final File file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+
+    /**
+     * Replays the journal and opens it for writing.
+     *
+     * @return PlayerInfos that were not removed before the journal was last closed
+     */
+    synchronized Map<UUID, PlayerInfo> open() throws IOException {
+        live.clear();
+        replay();
+        compact();
+
+        final Map<UUID, PlayerInfo> result = new HashMap<>();
+
+        for (final Map.Entry<UUID, byte[]> entry : live.entrySet()) {
+            try {
+                result.put(entry.getKey(), decode(entry.getValue()));
+            } catch (IOException ex) {
+                Log.error("Could not read cached player info of " + entry.getKey() + " from journal!", ex);
+            }
+        }
+
+        return result;
+    }
+
+    void append(final UUID uuid, final PlayerInfo info) {
+        try {
+            pending.add(new Record(CREATE, uuid, encode(info)));
+        } catch (IOException ex) {
+            Log.error("Could not encode cached player info of " + uuid + "!", ex);
+            return;
+        }
+
+        plugin.doAsync(this::drain);
+    }
+
+    void remove(final UUID uuid) {
+        pending.add(new Record(REMOVE, uuid, new byte[0]));
+        plugin.doAsync(this::drain);
+    }
+
+    /**
+     * Writes all pending records and closes the journal.
+     */
+    synchronized void close() {
+        drain();
+
+        if (out == null) {
+            return;
+        }
+
+        try {
+            out.close();
+        } catch (IOException ex) {
+            Log.error(ERROR_WRITE, ex);
+        }
+
+        out = null;
+        stream = null;
+    }
+
+    private synchronized void drain() {
+        if (out == null || pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            flush();
+        } catch (IOException ex) {
+            Log.error(ERROR_WRITE, ex);
+        }
+    }
+
+    /**
+     * Writes all pending records on the calling thread.
+     *
+     * @throws IOException if the journal is closed or the records could not be written
+     */
+    synchronized void flush() throws IOException {
+        if (out == null) {
+            throw new IOException("Player cache journal is closed");
+        }
+
+        Record record;
+
+        while ((record = pending.poll()) != null) {
+            write(out, record);
+            records++;
+
+            if (record.type == CREATE) {
+                live.put(record.uuid, record.payload);
+            } else {
+                live.remove(record.uuid);
+            }
+        }
+
+        out.flush();
+        stream.getChannel().force(false);
+
+        if (records >= MIN_COMPACT_RECORDS && records > live.size() * 2) {
+            compact();
+        }
+    }
+
+    private void replay() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                final Record record;
+
+                try {
+                    record = read(in);
+                } catch (EOFException ex) {
+                    break;
+                }
+
+                if (record == null) {
+                    Log.warn(ERROR_TRUNCATED);
+                    break;
+                }
+
+                if (record.type == CREATE) {
+                    live.put(record.uuid, record.payload);
+                } else {
+                    live.remove(record.uuid);
+                }
+            }
+        }
+    }
+
+    // Rewrites the journal with only live entries and reopens it for appending.
+    private void compact() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+
+        final File temp = new File(file.getPath() + TEMP_SUFFIX);
+
+        try {
+            try (DataOutputStream tempOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                for (final Map.Entry<UUID, byte[]> entry : live.entrySet()) {
+                    write(tempOut, new Record(CREATE, entry.getKey(), entry.getValue()));
+                }
+            }
+
+            FileUtil.move(temp, file);
+            records = live.size();
+        } finally {
+            // Keep appending to the old journal if compaction failed
+            stream = new FileOutputStream(file, true);
+            out = new DataOutputStream(new BufferedOutputStream(stream));
+        }
+    }
+
+    private static void write(final DataOutputStream out, final Record record) throws IOException {
+        out.writeByte(record.type);
+        out.writeLong(record.uuid.getMostSignificantBits());
+        out.writeLong(record.uuid.getLeastSignificantBits());
+        out.writeInt(record.payload.length);
+        out.write(record.payload);
+        out.writeLong(checksum(record.type, record.uuid, record.payload));
+    }
+
+    /**
+     * @return the record or null if the record was only partially written or is corrupted.
+     * @throws EOFException if there are no more records
+     */
+    private static Record read(final DataInputStream in) throws IOException {
+        final int type = in.read();
+
+        if (type == -1) {
+            throw new EOFException();
+        }
+
+        try {
+            final UUID uuid = new UUID(in.readLong(), in.readLong());
+            final int length = in.readInt();
+
+            if ((type != CREATE && type != REMOVE) || length < 0) {
+                return null;
+            }
+
+            final byte[] payload = new byte[length];
+            in.readFully(payload);
+
+            if (in.readLong() != checksum((byte) type, uuid, payload)) {
+                return null;
+            }
+
+            return new Record((byte) type, uuid, payload);
+        } catch (EOFException ex) {
+            return null;
+        }
+    }
+
+    private static long checksum(final byte type, final UUID uuid, final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(17).put(type).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array());
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    private static byte[] encode(final PlayerInfo info) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeDouble(info.getHealth());
+            out.writeFloat(info.getExperience());
+            out.writeInt(info.getLevel());
+            out.writeInt(info.getHunger());
+
+            final Location location = info.getLocation();
+            out.writeBoolean(location != null && location.getWorld() != null);
+
+            if (location != null && location.getWorld() != null) {
+                out.writeUTF(location.getWorld().getName());
+                out.writeDouble(location.getX());
+                out.writeDouble(location.getY());
+                out.writeDouble(location.getZ());
+                out.writeFloat(location.getYaw());
+                out.writeFloat(location.getPitch());
+            }
+
+            out.writeInt(info.getEffects().size());
+
+            for (final PotionEffect effect : info.getEffects()) {
+                out.writeUTF(effect.getType().getName());
+                out.writeInt(effect.getDuration());
+                out.writeInt(effect.getAmplifier());
+            }
+
+            out.writeInt(info.getItems().size());
+
+            for (final Map.Entry<String, Map<Integer, ItemStack>> entry : info.getItems().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+
+                for (final Map.Entry<Integer, ItemStack> item : entry.getValue().entrySet()) {
+                    out.writeInt(item.getKey());
+                    ItemCodec.write(out, item.getValue());
+                }
+            }
+
+            out.writeInt(info.getExtra().size());
+
+            for (final ItemStack item : info.getExtra()) {
+                ItemCodec.write(out, item);
+            }
+        }
+
+        return buffer.toByteArray();
+    }
+
+    private static PlayerInfo decode(final byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            final int version = in.readByte();
+
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown player info format " + version);
+            }
+
+            final double health = in.readDouble();
+            final float experience = in.readFloat();
+            final int level = in.readInt();
+            final int hunger = in.readInt();
+            Location location = null;
+
+            if (in.readBoolean()) {
+                final World world = Bukkit.getWorld(in.readUTF());
+                location = new Location(world, in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat());
+            }
+
+            final int effectCount = in.readInt();
+            final List<PotionEffect> effects = new ArrayList<>(effectCount);
+
+            for (int i = 0; i < effectCount; i++) {
+                final PotionEffectType type = PotionEffectType.getByName(in.readUTF());
+                final int duration = in.readInt();
+                final int amplifier = in.readInt();
+
+                if (type != null) {
+                    effects.add(new PotionEffect(type, duration, amplifier));
+                }
+            }
+
+            final PlayerInfo info = new PlayerInfo(effects, health, experience, level, hunger, location);
+            final int sections = in.readInt();
+
+            for (int i = 0; i < sections; i++) {
+                final String key = in.readUTF();
+                final int count = in.readInt();
+                final Map<Integer, ItemStack> items = new HashMap<>();
+
+                for (int j = 0; j < count; j++) {
+                    items.put(in.readInt(), ItemCodec.read(in));
+                }
+
+                info.getItems().put(key, items);
+            }
+
+            final int extra = in.readInt();
+
+            for (int i = 0; i < extra; i++) {
+                info.getExtra().add(ItemCodec.read(in));
+            }
+
+            return info;
+        }
+    }
+
+    private static class Record {
+
+        private final byte type;
+        private final UUID uuid;
+        private final byte[] payload;
+
+        private Record(final byte type, final UUID uuid, final byte[] payload) {
+            this.type = type;
+            this.uuid = uuid;
+            this.payload = payload;
+        }
+    }
+}
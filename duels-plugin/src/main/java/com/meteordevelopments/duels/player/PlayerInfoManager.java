@@ -22,10 +22,12 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.inventory.ItemStack;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -37,7 +39,8 @@ import java.util.UUID;
  */
 public class PlayerInfoManager implements Loadable {
 
-    private static final String CACHE_FILE_NAME = "player-cache.yml"; // Changed to YAML
+    private static final String CACHE_FILE_NAME = "player-cache.yml"; // Only read to restore caches saved by older versions
+    private static final String JOURNAL_FILE_NAME = "player-cache.dat";
     private static final String LOBBY_FILE_NAME = "lobby.json"; // Assuming you still want to use JSON for lobby
 
     private static final String ERROR_LOBBY_LOAD = "Could not load lobby location!";
@@ -48,6 +51,7 @@ public class PlayerInfoManager implements Loadable {
     private final Config config;
     private final File cacheFile;
     private final File lobbyFile;
+    private final PlayerInfoJournal journal;
 
     private final Map<UUID, PlayerInfo> cache = new HashMap<>();
 
@@ -62,6 +66,7 @@ public class PlayerInfoManager implements Loadable {
         this.config = plugin.getConfiguration();
         this.cacheFile = new File(plugin.getDataFolder(), CACHE_FILE_NAME);
         this.lobbyFile = new File(plugin.getDataFolder(), LOBBY_FILE_NAME);
+        this.journal = new PlayerInfoJournal(plugin, new File(plugin.getDataFolder(), JOURNAL_FILE_NAME));
         plugin.doSyncAfter(() -> Bukkit.getPluginManager().registerEvents(new PlayerInfoListener(), plugin), 1L);
     }
 
@@ -70,6 +75,8 @@ public class PlayerInfoManager implements Loadable {
         this.teleport = plugin.getTeleport();
         this.essentials = plugin.getHookManager().getHook(EssentialsHook.class);
 
+        cache.putAll(journal.open());
+
         // Load the player cache from YAML
         if (FileUtil.checkNonEmpty(cacheFile, false)) {
             try (final Reader reader = new InputStreamReader(Files.newInputStream(cacheFile.toPath()), Charsets.UTF_8)) {
@@ -78,12 +85,20 @@ public class PlayerInfoManager implements Loadable {
 
                 if (data != null) {
                     for (final Map.Entry<UUID, PlayerData> entry : data.entrySet()) {
-                        cache.put(entry.getKey(), entry.getValue().toPlayerInfo());
+                        final PlayerInfo info = entry.getValue().toPlayerInfo();
+                        cache.put(entry.getKey(), info);
+                        journal.append(entry.getKey(), info);
                     }
                 }
             }
 
-            cacheFile.delete();
+            // Only delete the old cache once its entries are on disk, appends are otherwise written asynchronously
+            try {
+                journal.flush();
+                cacheFile.delete();
+            } catch (IOException ex) {
+                Log.error(this, "Could not migrate " + cacheFile.getName() + " to the player cache journal! The file will be migrated again on next load.", ex);
+            }
         }
 
         if (FileUtil.checkNonEmpty(lobbyFile, false)) {
@@ -109,30 +124,15 @@ public class PlayerInfoManager implements Loadable {
 
             if (info != null) {
                 player.spigot().respawn();
-                teleport.tryTeleport(player, info.getLocation());
-                PlayerUtil.reset(player);
-                info.restore(player);
+                teleport.tryTeleport(player, info.getLocation(), () -> {
+                    PlayerUtil.reset(player);
+                    info.restore(player);
+                });
             }
         });
 
-        if (cache.isEmpty()) {
-            return;
-        }
-
-        // Prepare data for YAML output
-        Map<UUID, PlayerData> data = new HashMap<>();
-
-        for (final Map.Entry<UUID, PlayerInfo> entry : cache.entrySet()) {
-            data.put(entry.getKey(), PlayerData.fromPlayerInfo(entry.getValue()));
-        }
-
-        // Write the player cache to YAML
-        try (final Writer writer = new OutputStreamWriter(Files.newOutputStream(cacheFile.toPath()), Charsets.UTF_8)) {
-            Yaml yaml = new Yaml();
-            yaml.dump(data, writer);
-            writer.flush();
-        }
-
+        // Remaining entries are kept in the journal and restored on next load
+        journal.close();
         cache.clear();
     }
 
@@ -180,6 +180,7 @@ public class PlayerInfoManager implements Loadable {
         }
 
         cache.put(player.getUniqueId(), info);
+        journal.append(player.getUniqueId(), info);
     }
 
     /**
@@ -198,7 +199,59 @@ public class PlayerInfoManager implements Loadable {
      * @return Removed PlayerInfo instance or null if not found
      */
     public PlayerInfo remove(final Player player) {
-        return cache.remove(player.getUniqueId());
+        final PlayerInfo info = cache.remove(player.getUniqueId());
+
+        if (info != null) {
+            journal.remove(player.getUniqueId());
+        }
+
+        return info;
+    }
+
+    /**
+     * Teleports the player to the cached location and restores the cached PlayerInfo once the teleport has finished,
+     * so that overflowing items are not dropped before the player left. The PlayerInfo is kept cached and journaled
+     * until then, so that a player leaving before the teleport finishes is restored on join instead.
+     *
+     * @param player Player to teleport and restore
+     * @param callback Run after the player was restored, may be null
+     */
+    public void restoreAfterTeleport(final Player player, final Runnable callback) {
+        final PlayerInfo info = get(player);
+
+        if (info == null) {
+            return;
+        }
+
+        teleport.tryTeleport(player, info.getLocation(), () -> {
+            // Restored by the join listener if the player left or already rejoined
+            if (!player.isOnline() || remove(player) == null) {
+                return;
+            }
+
+            info.restore(player);
+
+            if (callback != null) {
+                callback.run();
+            }
+        });
+    }
+
+    /**
+     * Adds the given items to the cached PlayerInfo instance of given player, to be given back on restoration.
+     *
+     * @param player Player to add the items for
+     * @param items Items to add
+     */
+    public void addExtra(final Player player, final Collection<ItemStack> items) {
+        final PlayerInfo info = get(player);
+
+        if (info == null || items.isEmpty()) {
+            return;
+        }
+
+        info.getExtra().addAll(items);
+        journal.append(player.getUniqueId(), info);
     }
 
     private class PlayerInfoListener implements Listener {
@@ -218,8 +271,7 @@ public class PlayerInfoManager implements Loadable {
                 return;
             }
 
-            teleport.tryTeleport(player, info.getLocation());
-            info.restore(player);
+            teleport.tryTeleport(player, info.getLocation(), () -> info.restore(player));
         }
 
         @EventHandler(priority = EventPriority.HIGHEST)
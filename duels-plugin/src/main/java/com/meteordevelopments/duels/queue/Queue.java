@@ -13,6 +13,7 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class Queue extends BaseButton implements DQueue {
@@ -21,12 +22,23 @@ public class Queue extends BaseButton implements DQueue {
     private final Kit kit;
     @Getter
     private final int bet;
+    // Entries in the order they joined.
     @Getter
     private final List<QueueEntry> players = new LinkedList<>();
+    // Same entries sorted by rating, used to find the opponent with the closest rating.
+    @Getter(value = AccessLevel.PACKAGE)
+    private final NavigableSet<QueueEntry> sortedPlayers = new TreeSet<>(QueueEntry.BY_RATING);
     @Getter
     @Setter(value = AccessLevel.PACKAGE)
     private boolean removed;
 
+    // Maintained on join, leave, match start and match end, so that reading them does not scan queues or arenas.
+    private final AtomicInteger inQueue = new AtomicInteger();
+    private final AtomicInteger matches = new AtomicInteger();
+    // Counts the button was last rendered with.
+    private int lastInQueue;
+    private long lastInMatch;
+
     public Queue(final DuelsPlugin plugin, final Kit kit, final int bet) {
         super(plugin, ItemBuilder
                 .of((plugin.getConfiguration().isInheritKitItemType() && kit != null) ? kit.getDisplayed().clone() : ItemBuilder.of(Material.DIAMOND_SWORD).build())
@@ -41,7 +53,7 @@ public class Queue extends BaseButton implements DQueue {
 
     @Override
     public boolean isInQueue(@NotNull final Player player) {
-        return players.stream().anyMatch(entry -> entry.getPlayer().equals(player));
+        return queueManager.get(player) == this;
     }
 
     @NotNull
@@ -52,22 +64,44 @@ public class Queue extends BaseButton implements DQueue {
 
     void addPlayer(final QueueEntry entry) {
         players.add(entry);
+        sortedPlayers.add(entry);
+        queueManager.index(entry.getPlayer(), this);
+        inQueue.incrementAndGet();
         update();
-        queueManager.getGui().calculatePages();
+    }
+
+    // Moves the entry to its new position in the sorted set.
+    void updateRating(final QueueEntry entry, final int rating) {
+        if (sortedPlayers.remove(entry)) {
+            entry.setRating(rating);
+            sortedPlayers.add(entry);
+        }
     }
 
     boolean removePlayer(final Player player) {
-        if (players.removeIf(entry -> entry.getPlayer().equals(player))) {
-            update();
-            queueManager.getGui().calculatePages();
-            return true;
+        final Iterator<QueueEntry> iterator = players.iterator();
+
+        while (iterator.hasNext()) {
+            final QueueEntry entry = iterator.next();
+
+            if (entry.getPlayer().equals(player)) {
+                iterator.remove();
+                sortedPlayers.remove(entry);
+                queueManager.unindex(player, this);
+                inQueue.decrementAndGet();
+                update();
+                return true;
+            }
         }
 
         return false;
     }
 
-    boolean removeAll(final Set<QueueEntry> players) {
+    boolean removeAll(final Collection<QueueEntry> players) {
         if (this.players.removeAll(players)) {
+            sortedPlayers.removeAll(players);
+            players.forEach(entry -> queueManager.unindex(entry.getPlayer(), this));
+            inQueue.set(this.players.size());
             update();
             return true;
         }
@@ -75,18 +109,50 @@ public class Queue extends BaseButton implements DQueue {
         return false;
     }
 
+    void clear() {
+        players.forEach(entry -> queueManager.unindex(entry.getPlayer(), this));
+        players.clear();
+        sortedPlayers.clear();
+        inQueue.set(0);
+    }
+
+    public void onMatchStart() {
+        matches.incrementAndGet();
+        update();
+    }
+
+    public void onMatchEnd() {
+        matches.decrementAndGet();
+        update();
+    }
+
+    public int getPlayersInQueue() {
+        return inQueue.get();
+    }
+
     @Override
     public long getPlayersInMatch() {
-        return arenaManager.getPlayersInMatch(this);
+        return matches.get() * 2L;
     }
 
+    /**
+     * Re-renders the button if the counts changed since it was last rendered.
+     */
     public void update() {
-        int inQueue = players.size();
-        long inMatch = getPlayersInMatch();
+        final int inQueue = getPlayersInQueue();
+        final long inMatch = getPlayersInMatch();
+
+        if (inQueue == lastInQueue && inMatch == lastInMatch) {
+            return;
+        }
+
+        this.lastInQueue = inQueue;
+        this.lastInMatch = inMatch;
         setDisplayName(lang.getMessage("GUI.queues.buttons.queue.name",
                 "kit", kit != null ? kit.getName() : lang.getMessage("GENERAL.none"), "bet_amount", bet, "in_queue", inQueue, "in_match", inMatch));
         setLore(lang.getMessage("GUI.queues.buttons.queue.lore",
                 "kit", kit != null ? kit.getName() : lang.getMessage("GENERAL.none"), "bet_amount", bet, "in_queue", inQueue, "in_match", inMatch).split("\n"));
+        queueManager.getGui().calculatePages();
     }
 
     @Override
@@ -5,18 +5,42 @@ import com.meteordevelopments.duels.setting.CachedInfo;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class QueueEntry {
 
+    // Orders entries by rating, then by join order for entries with the same rating.
+    static final Comparator<QueueEntry> BY_RATING = Comparator.comparingInt(QueueEntry::getRating).thenComparingLong(entry -> entry.sequence);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
     @Getter
     private final Player player;
     @Getter
     private final CachedInfo info;
+    // Rating for the queue's kit, refreshed by QueueManager before matching. Position in Queue's sorted set depends on it.
+    @Getter
+    private int rating;
+    @Getter
+    private final long joined;
+    private final long sequence;
 
-    QueueEntry(final Player player, final Location location, final String duelzone) {
+    QueueEntry(final Player player, final Location location, final String duelzone, final int rating) {
         this.player = player;
         this.info = new CachedInfo(location, duelzone);
+        this.rating = rating;
+        this.joined = System.currentTimeMillis();
+        this.sequence = SEQUENCE.getAndIncrement();
+    }
+
+    void setRating(final int rating) {
+        this.rating = rating;
+    }
+
+    boolean isRated() {
+        return rating >= 0;
     }
 
     @Override
@@ -48,6 +48,7 @@ import space.arim.morepaperlib.scheduling.ScheduledTask;
 import java.io.*;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class QueueManager implements Loadable, DQueueManager, Listener {
@@ -67,6 +68,8 @@ public class QueueManager implements Loadable, DQueueManager, Listener {
     private final File file;
 
     private final List<Queue> queues = new ArrayList<>();
+    // Maps queued players to their queue. Maintained by Queue to avoid scanning every queue on lookup.
+    private final Map<UUID, Queue> playerToQueue = new ConcurrentHashMap<>();
 
     private CombatTagPlusHook combatTagPlus;
     private PvPManagerHook pvpManager;
@@ -93,26 +96,186 @@ public class QueueManager implements Loadable, DQueueManager, Listener {
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
-    private boolean canFight(final Kit kit, final UserData first, final UserData second) {
+    /**
+     * @return max rating difference allowed for the given entry, widened by the time it spent in queue.
+     */
+    private long getMaxDifference(final QueueEntry entry, final long now) {
+        return config.getMaxDifference() + (long) config.getMaxDifferenceIncrease() * ((now - entry.getJoined()) / 1000L);
+    }
+
+    private int getRating(final Queue queue, final QueueEntry entry) {
+        final UserData user = userManager.get(entry.getPlayer());
+        return user != null ? user.getRatingUnsafe(queue.getKit()) : -1;
+    }
+
+    /**
+     * Updates the entry's rating if it changed since it was last read, for example by /duels setrating.
+     *
+     * @return true if the rating was updated, false otherwise
+     */
+    private boolean refresh(final Queue queue, final QueueEntry entry) {
+        final int rating = getRating(queue, entry);
+
+        if (rating == entry.getRating()) {
+            return false;
+        }
+
+        queue.updateRating(entry, rating);
+        return true;
+    }
+
+    private boolean canFight(final QueueEntry first, final QueueEntry second, final long difference, final long now) {
+        if (!second.isRated() || difference > Math.max(getMaxDifference(first, now), getMaxDifference(second, now))) {
+            return false;
+        }
+
+        final int kFactor = config.getKFactor();
+        return NumberUtil.getChange(kFactor, first.getRating(), second.getRating()) != 0 && NumberUtil.getChange(kFactor, second.getRating(), first.getRating()) != 0;
+    }
+
+    /**
+     * Walks outwards from the entry's rating, so that candidates are checked from the closest rating to the furthest
+     * and the search stops once the difference exceeds what any queued entry allows.
+     *
+     * @return opponent with the closest rating the entry can fight or null if there is none.
+     */
+    private QueueEntry findOpponent(final Queue queue, final QueueEntry entry, final long now, final List<QueueEntry> stale) {
         if (!config.isRatingEnabled()) {
-            return true;
+            for (final QueueEntry other : queue.getPlayers()) {
+                if (!other.equals(entry)) {
+                    return other;
+                }
+            }
+
+            return null;
         }
 
-        if (first != null && second != null) {
-            final int firstRating = first.getRatingUnsafe(kit);
-            final int secondRating = second.getRatingUnsafe(kit);
-            final int kFactor = config.getKFactor();
-            final int maxDifference = config.getMaxDifference();
-            return firstRating - secondRating <= maxDifference && secondRating - firstRating <= maxDifference && NumberUtil.getChange(kFactor, firstRating, secondRating) != 0 && NumberUtil.getChange(kFactor, secondRating, firstRating) != 0;
+        if (!entry.isRated() || queue.getPlayers().isEmpty()) {
+            return null;
         }
 
-        return false;
+        // Entries that joined first have the widest window
+        final long limit = Math.max(getMaxDifference(entry, now), getMaxDifference(queue.getPlayers().get(0), now));
+        final NavigableSet<QueueEntry> sorted = queue.getSortedPlayers();
+        final Iterator<QueueEntry> lower = sorted.headSet(entry, false).descendingIterator();
+        final Iterator<QueueEntry> higher = sorted.tailSet(entry, false).iterator();
+        QueueEntry low = lower.hasNext() ? lower.next() : null;
+        QueueEntry high = higher.hasNext() ? higher.next() : null;
+
+        while (low != null || high != null) {
+            final QueueEntry candidate;
+
+            if (high == null || (low != null && entry.getRating() - low.getRating() <= high.getRating() - entry.getRating())) {
+                candidate = low;
+                low = lower.hasNext() ? lower.next() : null;
+            } else {
+                candidate = high;
+                high = higher.hasNext() ? higher.next() : null;
+            }
+
+            final long difference = Math.abs((long) entry.getRating() - candidate.getRating());
+
+            if (difference > limit) {
+                return null;
+            }
+
+            // Repositioned by the caller once the search is done, as the sorted set is being iterated.
+            if (getRating(queue, candidate) != candidate.getRating()) {
+                stale.add(candidate);
+                continue;
+            }
+
+            if (canFight(entry, candidate, difference, now)) {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Starts a match for the entry if an opponent is available.
+     *
+     * @return true if the entry was matched, false otherwise
+     */
+    private boolean match(final Queue queue, final QueueEntry current, final long now) {
+        QueueEntry opponent;
+
+        if (config.isRatingEnabled()) {
+            refresh(queue, current);
+
+            final List<QueueEntry> stale = new ArrayList<>();
+            opponent = findOpponent(queue, current, now, stale);
+
+            if (!stale.isEmpty()) {
+                stale.forEach(entry -> refresh(queue, entry));
+
+                if (opponent == null) {
+                    opponent = findOpponent(queue, current, now, new ArrayList<>());
+                }
+            }
+        } else {
+            opponent = findOpponent(queue, current, now, null);
+        }
+
+        if (opponent == null) {
+            return false;
+        }
+
+        queue.removeAll(Arrays.asList(current, opponent));
+
+        final Player player = current.getPlayer();
+        final Player other = opponent.getPlayer();
+        final Settings setting = new Settings(plugin);
+
+        if (queue.getKit() != null) {
+            setting.setKit(kitManager.get(queue.getKit().getName()));
+        } else {
+            setting.setOwnInventory(true);
+        }
+
+        setting.setBet(queue.getBet());
+        setting.getCache().put(player.getUniqueId(), current.getInfo());
+        setting.getCache().put(other.getUniqueId(), opponent.getInfo());
+
+        // Ensure party info is set to avoid NPE in DuelManager
+        setting.setSenderParty(plugin.getPartyManager().get(player));
+        setting.setTargetParty(plugin.getPartyManager().get(other));
+
+        final String kit = queue.getKit() != null ? queue.getKit().getName() : lang.getMessage("GENERAL.none");
+        lang.sendMessage(player, "QUEUE.found-opponent", "name", other.getName(), "kit", kit, "bet_amount", queue.getBet());
+        lang.sendMessage(other, "QUEUE.found-opponent", "name", player.getName(), "kit", kit, "bet_amount", queue.getBet());
+        duelManager.startMatch(player, other, setting, null, queue);
+        return true;
+    }
+
+    // Matches entries whose rating window widened since they joined, starting from the ones waiting the longest.
+    private void sweep() {
+        final long now = System.currentTimeMillis();
+        boolean update = false;
+
+        for (final Queue queue : queues) {
+            if (queue.getPlayers().size() < 2) {
+                continue;
+            }
+
+            for (final QueueEntry entry : new ArrayList<>(queue.getPlayers())) {
+                if (queue.getSortedPlayers().contains(entry) && match(queue, entry, now)) {
+                    update = true;
+                }
+            }
+        }
+
+        if (update) {
+            gui.calculatePages();
+        }
     }
 
     @Override
     public void handleLoad() throws IOException {
         this.gui = new MultiPageGui<>(plugin, lang.getMessage("GUI.queues.title"), config.getQueuesRows(), queues);
         gui.setSpaceFiller(Items.from(config.getQueuesFillerType(), config.getQueuesFillerData()));
+        gui.setRebuildScheduler(plugin::doSync);
         gui.setPrevButton(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.queues.buttons.previous-page.name")).build());
         gui.setNextButton(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.queues.buttons.next-page.name")).build());
         gui.setEmptyIndicator(ItemBuilder.of(Material.PAPER).name(lang.getMessage("GUI.queues.buttons.empty.name")).build());
@@ -144,75 +307,26 @@ public class QueueManager implements Loadable, DQueueManager, Listener {
         this.combatLogX = plugin.getHookManager().getHook(CombatLogXHook.class);
         this.worldGuard = plugin.getHookManager().getHook(WorldGuardHook.class);
         this.vault = plugin.getHookManager().getHook(VaultHook.class);
-        this.queueTask = plugin.doSyncRepeat(() -> {
-            boolean update = false;
-
-            for (final Queue queue : queues) {
-                final Set<QueueEntry> remove = new HashSet<>();
-
-                for (final QueueEntry current : queue.getPlayers()) {
-                    // player is already in a match
-                    if (remove.contains(current)) {
-                        continue;
-                    }
-
-                    final Player player = current.getPlayer();
-
-                    for (final QueueEntry opponent : queue.getPlayers()) {
-                        final Player other = opponent.getPlayer();
-
-                        // opponent is already in a match or the rating difference is too high
-                        if (current.equals(opponent) || remove.contains(opponent) || !canFight(queue.getKit(), userManager.get(player), userManager.get(other))) {
-                            continue;
-                        }
 
-                        remove.add(current);
-                        remove.add(opponent);
-
-                        final Settings setting = new Settings(plugin);
-
-                        if (queue.getKit() != null) {
-                            setting.setKit(kitManager.get(queue.getKit().getName()));
-                        } else {
-                            setting.setOwnInventory(true);
-                        }
-
-                        setting.setBet(queue.getBet());
-                        setting.getCache().put(player.getUniqueId(), current.getInfo());
-                        setting.getCache().put(other.getUniqueId(), opponent.getInfo());
-
-                        // Ensure party info is set to avoid NPE in DuelManager
-                        setting.setSenderParty(plugin.getPartyManager().get(player));
-                        setting.setTargetParty(plugin.getPartyManager().get(other));
-
-                        final String kit = queue.getKit() != null ? queue.getKit().getName() : lang.getMessage("GENERAL.none");
-                        lang.sendMessage(player, "QUEUE.found-opponent", "name", other.getName(), "kit", kit, "bet_amount", queue.getBet());
-                        lang.sendMessage(other, "QUEUE.found-opponent", "name", player.getName(), "kit", kit, "bet_amount", queue.getBet());
-                        duelManager.startMatch(player, other, setting, null, queue);
-                        break;
-                    }
-                }
-
-                if (queue.removeAll(remove) && !update) {
-                    update = true;
-                }
-            }
-
-            if (update) {
-                gui.calculatePages();
-            }
-        }, 20L, 40L);
+        // New entries are matched as they join, this only picks up pairs allowed by widened rating windows.
+        if (config.isRatingEnabled() && config.getMaxDifferenceIncrease() > 0) {
+            this.queueTask = plugin.doSyncRepeat(this::sweep, 20L, 20L);
+        }
     }
 
     @Override
     public void handleUnload() {
-        plugin.cancelTask(queueTask);
+        if (queueTask != null) {
+            plugin.cancelTask(queueTask);
+            queueTask = null;
+        }
 
         if (gui != null) {
             plugin.getGuiListener().removeGui(gui);
         }
 
         queues.clear();
+        playerToQueue.clear();
     }
 
     private void saveQueues() {
@@ -240,7 +354,14 @@ public class QueueManager implements Loadable, DQueueManager, Listener {
     @Override
     public Queue get(@NotNull final Player player) {
         Objects.requireNonNull(player, "player");
-        return queues.stream().filter(queue -> queue.isInQueue(player)).findFirst().orElse(null);
+        return playerToQueue.get(player.getUniqueId());
+    }
+
+    @Nullable
+    @Override
+    public Queue get(@NotNull final UUID uuid) {
+        Objects.requireNonNull(uuid, "uuid");
+        return playerToQueue.get(uuid);
     }
 
     @Nullable
@@ -293,7 +414,13 @@ public class QueueManager implements Loadable, DQueueManager, Listener {
     @Override
     public boolean isInQueue(@NotNull final Player player) {
         Objects.requireNonNull(player, "player");
-        return queues.stream().anyMatch(queue -> queue.isInQueue(player));
+        return playerToQueue.containsKey(player.getUniqueId());
+    }
+
+    @Override
+    public boolean isInQueue(@NotNull final UUID uuid) {
+        Objects.requireNonNull(uuid, "uuid");
+        return playerToQueue.containsKey(uuid);
     }
 
     @Override
@@ -317,7 +444,7 @@ public class QueueManager implements Loadable, DQueueManager, Listener {
 
         saveQueues();
         queue.getPlayers().forEach(entry -> lang.sendMessage(entry.getPlayer(), "QUEUE.remove"));
-        queue.getPlayers().clear();
+        queue.clear();
         queue.setRemoved(true);
 
         final QueueRemoveEvent event = new QueueRemoveEvent(source, queue);
@@ -380,6 +507,14 @@ public class QueueManager implements Loadable, DQueueManager, Listener {
             return false;
         }
 
+        final UserData user = userManager.get(player);
+
+        // Rating is read from the user's data, joining before it loaded would leave the entry unmatchable.
+        if (user == null) {
+            lang.sendMessage(player, "ERROR.data.not-loaded");
+            return false;
+        }
+
         final QueueJoinEvent event = new QueueJoinEvent(player, queue);
         Bukkit.getPluginManager().callEvent(event);
 
@@ -387,24 +522,40 @@ public class QueueManager implements Loadable, DQueueManager, Listener {
             return false;
         }
 
-        queue.addPlayer(new QueueEntry(player, player.getLocation().clone(), duelzone));
+        final QueueEntry entry = new QueueEntry(player, player.getLocation().clone(), duelzone, user.getRatingUnsafe(queue.getKit()));
+        queue.addPlayer(entry);
 
         final String kit = queue.getKit() != null ? queue.getKit().getName() : lang.getMessage("GENERAL.none");
         lang.sendMessage(player, "QUEUE.add", "kit", kit, "bet_amount", queue.getBet());
+
+        // Matched on the next tick, as joining may happen while handling an inventory click
+        plugin.doSync(() -> {
+            if (!queue.isRemoved() && queue.getSortedPlayers().contains(entry) && match(queue, entry, System.currentTimeMillis())) {
+                gui.calculatePages();
+            }
+        });
         return true;
     }
 
     public Queue remove(final Player player) {
-        for (final Queue queue : queues) {
-            if (queue.removePlayer(player)) {
-                final QueueLeaveEvent event = new QueueLeaveEvent(player, queue);
-                Bukkit.getPluginManager().callEvent(event);
-                lang.sendMessage(player, "QUEUE.remove");
-                return queue;
-            }
+        final Queue queue = get(player);
+
+        if (queue == null || !queue.removePlayer(player)) {
+            return null;
         }
 
-        return null;
+        final QueueLeaveEvent event = new QueueLeaveEvent(player, queue);
+        Bukkit.getPluginManager().callEvent(event);
+        lang.sendMessage(player, "QUEUE.remove");
+        return queue;
+    }
+
+    void index(final Player player, final Queue queue) {
+        playerToQueue.put(player.getUniqueId(), queue);
+    }
+
+    void unindex(final Player player, final Queue queue) {
+        playerToQueue.remove(player.getUniqueId(), queue);
     }
 
     @EventHandler
@@ -9,6 +9,7 @@ import com.meteordevelopments.duels.util.StringUtil;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.Sign;
 
 import java.util.Objects;
@@ -61,24 +62,25 @@ public class QueueSignImpl implements QueueSign {
     }
 
     public void update() {
-        final Block block = location.getBlock();
+        final int inQueue = queue.getPlayersInQueue();
+        final long inMatch = queue.getPlayersInMatch();
 
-        if (!(block.getState() instanceof Sign)) {
+        // Checked before reading the block state, which copies the sign on every call
+        if (!queue.isRemoved() && lastInQueue == inQueue && lastInMatch == inMatch) {
             return;
         }
 
-        final Sign sign = (Sign) block.getState();
+        final BlockState state = location.getBlock().getState();
 
-        if (queue.isRemoved()) {
-            sign.setType(Material.AIR);
-            sign.update();
+        if (!(state instanceof Sign)) {
             return;
         }
 
-        final int inQueue = queue.getPlayers().size();
-        final long inMatch = queue.getPlayersInMatch();
+        final Sign sign = (Sign) state;
 
-        if (lastInQueue == inQueue && lastInMatch == inMatch) {
+        if (queue.isRemoved()) {
+            sign.setType(Material.AIR);
+            sign.update();
             return;
         }
 
@@ -6,6 +6,7 @@ import com.meteordevelopments.duels.api.arena.Arena;
 import com.meteordevelopments.duels.api.kit.Kit;
 import com.meteordevelopments.duels.api.request.Request;
 import com.meteordevelopments.duels.setting.Settings;
+import com.meteordevelopments.duels.util.TimerWheel;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
@@ -21,6 +22,8 @@ public class RequestImpl implements Request {
     private final UUID target;
     @Getter
     private final Settings settings;
+    // Removes this request from RequestManager once it expires.
+    TimerWheel.Timeout expiry;
 
     RequestImpl(final Player sender, final Player target, final Settings setting) {
         this.creation = System.currentTimeMillis();
@@ -1,12 +1,14 @@
 package com.meteordevelopments.duels.request;
 
 import com.meteordevelopments.duels.DuelsPlugin;
+import com.meteordevelopments.duels.api.event.request.RequestExpireEvent;
 import com.meteordevelopments.duels.api.event.request.RequestSendEvent;
 import com.meteordevelopments.duels.config.Config;
 import com.meteordevelopments.duels.config.Lang;
 import com.meteordevelopments.duels.setting.Settings;
 import com.meteordevelopments.duels.util.Loadable;
 import com.meteordevelopments.duels.util.TextBuilder;
+import com.meteordevelopments.duels.util.TimerWheel;
 import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.HoverEvent.Action;
 import org.bukkit.Bukkit;
@@ -21,11 +23,13 @@ public class RequestManager implements Loadable, Listener {
 
     private final Config config;
     private final Lang lang;
+    private final TimerWheel timerWheel;
     private final Map<UUID, Map<UUID, RequestImpl>> requests = new HashMap<>();
 
     public RequestManager(final DuelsPlugin plugin) {
         this.config = plugin.getConfiguration();
         this.lang = plugin.getLang();
+        this.timerWheel = plugin.getTimerWheel();
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
@@ -35,9 +39,33 @@ public class RequestManager implements Loadable, Listener {
 
     @Override
     public void handleUnload() {
+        requests.values().forEach(this::cancelExpiry);
         requests.clear();
     }
 
+    private void cancelExpiry(final Map<UUID, RequestImpl> cached) {
+        cached.values().forEach(request -> request.expiry.cancel());
+    }
+
+    private void expire(final UUID sender, final UUID key, final RequestImpl request) {
+        final Map<UUID, RequestImpl> cached = requests.get(sender);
+
+        if (cached == null || !cached.remove(key, request)) {
+            return;
+        }
+
+        if (cached.isEmpty()) {
+            requests.remove(sender);
+        }
+
+        final Player source = Bukkit.getPlayer(sender);
+        final Player target = Bukkit.getPlayer(request.getTarget());
+
+        if (source != null && target != null) {
+            Bukkit.getPluginManager().callEvent(new RequestExpireEvent(source, target, request));
+        }
+    }
+
     private Map<UUID, RequestImpl> get(final Player player, final boolean create) {
         Map<UUID, RequestImpl> cached = requests.get(player.getUniqueId());
 
@@ -59,7 +87,14 @@ public class RequestManager implements Loadable, Listener {
         }
 
         final boolean isParty = request.isPartyDuel();
-        get(sender, true).put(isParty ? request.getTargetParty().getOwner().getUuid() : target.getUniqueId(), request);
+        final UUID key = isParty ? request.getTargetParty().getOwner().getUuid() : target.getUniqueId();
+        final RequestImpl previous = get(sender, true).put(key, request);
+
+        if (previous != null) {
+            previous.expiry.cancel();
+        }
+
+        request.expiry = timerWheel.schedule(config.getExpiration() * 20L, () -> expire(sender.getUniqueId(), key, request));
 
         final String kit = settings.getKit() != null ? settings.getKit().getName() : lang.getMessage("GENERAL.not-selected");
         final String ownInventory = settings.isOwnInventory() ? lang.getMessage("GENERAL.enabled") : lang.getMessage("GENERAL.disabled");
@@ -102,18 +137,7 @@ public class RequestManager implements Loadable, Listener {
             return null;
         }
 
-        final RequestImpl request = cached.get(target.getUniqueId());
-
-        if (request == null) {
-            return null;
-        }
-
-        if (System.currentTimeMillis() - request.getCreation() >= config.getExpiration() * 1000L) {
-            cached.remove(target.getUniqueId());
-            return null;
-        }
-
-        return request;
+        return cached.get(target.getUniqueId());
     }
 
     public boolean has(final Player sender, final Player target) {
@@ -133,9 +157,10 @@ public class RequestManager implements Loadable, Listener {
             return null;
         }
 
-        if (System.currentTimeMillis() - request.getCreation() >= config.getExpiration() * 1000L) {
-            cached.remove(target.getUniqueId());
-            return null;
+        request.expiry.cancel();
+
+        if (cached.isEmpty()) {
+            requests.remove(sender.getUniqueId());
         }
 
         return request;
@@ -143,6 +168,10 @@ public class RequestManager implements Loadable, Listener {
 
     @EventHandler
     public void on(final PlayerQuitEvent event) {
-        requests.remove(event.getPlayer().getUniqueId());
+        final Map<UUID, RequestImpl> cached = requests.remove(event.getPlayer().getUniqueId());
+
+        if (cached != null) {
+            cancelExpiry(cached);
+        }
     }
 }
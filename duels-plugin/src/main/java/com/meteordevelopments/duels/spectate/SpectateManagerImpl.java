@@ -17,7 +17,6 @@ import com.meteordevelopments.duels.config.Config;
 import com.meteordevelopments.duels.config.Lang;
 import com.meteordevelopments.duels.hook.hooks.EssentialsHook;
 import com.meteordevelopments.duels.hook.hooks.MyPetHook;
-import com.meteordevelopments.duels.player.PlayerInfo;
 import com.meteordevelopments.duels.player.PlayerInfoManager;
 import com.meteordevelopments.duels.teleport.Teleport;
 import com.meteordevelopments.duels.util.BlockUtil;
@@ -197,11 +196,8 @@ public class SpectateManagerImpl implements Loadable, SpectateManager {
 
         player.setCollidable(true);
 
-        final PlayerInfo info = playerManager.remove(player);
-
-        if (info != null) {
-            teleport.tryTeleport(player, info.getLocation());
-            info.restore(player);
+        if (playerManager.get(player) != null) {
+            playerManager.restoreAfterTeleport(player, null);
         } else {
             teleport.tryTeleport(player, playerManager.getLobby());
         }
@@ -5,6 +5,7 @@ import com.meteordevelopments.duels.hook.hooks.EssentialsHook;
 import com.meteordevelopments.duels.util.Loadable;
 import com.meteordevelopments.duels.util.Log;
 import com.meteordevelopments.duels.util.metadata.MetadataUtil;
+import io.papermc.lib.PaperLib;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
@@ -12,6 +13,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerTeleportEvent;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Handles force teleporting of players.
@@ -48,8 +50,20 @@ public final class Teleport implements Loadable, Listener {
      * @param location Location to force-teleport the player
      */
     public void tryTeleport(final Player player, final Location location) {
+        tryTeleport(player, location, null);
+    }
+
+    /**
+     * @param player   Player to force-teleport to a location
+     * @param location Location to force-teleport the player
+     * @param callback Run once the teleport has finished or failed, since teleporting into an unloaded chunk
+     *                 completes on a later tick. May be null.
+     * @see #tryTeleport(Player, Location)
+     */
+    public void tryTeleport(final Player player, final Location location, @Nullable final Runnable callback) {
         if (location == null || location.getWorld() == null) {
             Log.warn(this, "Could not teleport " + player.getName() + "! Location is null");
+            complete(callback);
             return;
         }
 
@@ -68,15 +82,45 @@ public final class Teleport implements Loadable, Listener {
         boolean isFolia = DuelsPlugin.getMorePaperLib().scheduling().isUsingFolia();
 
         if (isFolia) {
-            player.teleportAsync(location).thenAccept(success -> {
-                if (!success) {
+            player.teleportAsync(location).whenComplete((success, error) -> {
+                if (error != null) {
+                    Log.error(this, "Could not teleport " + player.getName() + "! " + error.getMessage(), error);
+                } else if (!success) {
                     Log.warn(this, "Could not teleport " + player.getName() + "! TeleportAsync failed.");
                 }
+
+                complete(callback);
             });
-        } else {
+        } else if (!plugin.isEnabled() || location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+            // While disabling, an asynchronous teleport would not finish before the player's data is saved.
             if (!player.teleport(location)) {
                 Log.warn(this, "Could not teleport " + player.getName() + "! Player is dead or is vehicle");
             }
+
+            complete(callback);
+        } else {
+            // Load the target chunk off the server thread where supported instead of blocking on it.
+            PaperLib.teleportAsync(player, location).whenComplete((success, error) -> {
+                if (error != null) {
+                    Log.error(this, "Could not teleport " + player.getName() + "! " + error.getMessage(), error);
+                } else if (!success) {
+                    Log.warn(this, "Could not teleport " + player.getName() + "! Player is dead or is vehicle");
+                }
+
+                complete(callback);
+            });
+        }
+    }
+
+    private void complete(final Runnable callback) {
+        if (callback == null) {
+            return;
+        }
+
+        try {
+            callback.run();
+        } catch (Exception ex) {
+            Log.error(this, "Error while completing teleport: " + ex.getMessage(), ex);
         }
     }
 
@@ -0,0 +1,141 @@
+package com.meteordevelopments.duels.util;
+
+import com.meteordevelopments.duels.DuelsPlugin;
+import space.arim.morepaperlib.scheduling.ScheduledTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel advanced once per server tick. Scheduling and cancelling a timeout are O(1) and each tick only
+ * visits the timeouts hashed to the current slot. The tick task only runs while timeouts are pending.
+ */
+public final class TimerWheel {
+
+    private static final int SLOTS = 512;
+    private static final int MASK = SLOTS - 1;
+
+    private final DuelsPlugin plugin;
+    // Heads of the doubly linked lists of timeouts in each slot.
+    private final Timeout[] slots = new Timeout[SLOTS];
+
+    private long tick;
+    private int pending;
+    private ScheduledTask task;
+
+    public TimerWheel(final DuelsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * @param delay  Ticks to wait before running the action, at least 1
+     * @param action Action to run on the server thread once the delay has passed
+     * @return Timeout that can be cancelled before it expires
+     */
+    public synchronized Timeout schedule(final long delay, final Runnable action) {
+        final Timeout timeout = new Timeout(tick + Math.max(1L, delay), action);
+        link(timeout);
+
+        if (task == null && plugin.isEnabled()) {
+            task = plugin.doSyncRepeat(this::advance, 1L, 1L);
+        }
+
+        return timeout;
+    }
+
+    private void advance() {
+        final List<Timeout> expired = new ArrayList<>();
+
+        synchronized (this) {
+            tick++;
+
+            Timeout timeout = slots[(int) (tick & MASK)];
+
+            // Timeouts further than a full rotation away share the slot and are kept until their deadline.
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+
+                if (timeout.deadline <= tick) {
+                    unlink(timeout);
+                    expired.add(timeout);
+                }
+
+                timeout = next;
+            }
+
+            if (pending == 0 && task != null) {
+                plugin.cancelTask(task);
+                task = null;
+            }
+        }
+
+        // Run outside of the lock since actions may schedule new timeouts.
+        for (final Timeout timeout : expired) {
+            try {
+                timeout.action.run();
+            } catch (Exception ex) {
+                Log.error("Error while running expired timeout: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void link(final Timeout timeout) {
+        final int index = (int) (timeout.deadline & MASK);
+        final Timeout head = slots[index];
+        timeout.next = head;
+
+        if (head != null) {
+            head.prev = timeout;
+        }
+
+        slots[index] = timeout;
+        timeout.linked = true;
+        pending++;
+    }
+
+    private void unlink(final Timeout timeout) {
+        final int index = (int) (timeout.deadline & MASK);
+
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[index] = timeout.next;
+        }
+
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+        pending--;
+    }
+
+    public final class Timeout {
+
+        private final long deadline;
+        private final Runnable action;
+        private Timeout prev, next;
+        private boolean linked;
+
+        private Timeout(final long deadline, final Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        /**
+         * @return true if the timeout was pending and will no longer run.
+         */
+        public boolean cancel() {
+            synchronized (TimerWheel.this) {
+                if (!linked) {
+                    return false;
+                }
+
+                unlink(this);
+                return true;
+            }
+        }
+    }
+}
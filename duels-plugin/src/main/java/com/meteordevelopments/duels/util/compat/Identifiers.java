@@ -19,23 +19,24 @@ public final class Identifiers {
             return NBT.setItemString(item, DUELS_ITEM_IDENTIFIER, true);
         }
 
-        final NamespacedKey key = new NamespacedKey(DuelsPlugin.getInstance(), DUELS_ITEM_IDENTIFIER);
         final ItemMeta meta = item.getItemMeta();
-
-
-        meta.getPersistentDataContainer().set(key, PersistentDataType.BYTE, (byte) 1);
+        meta.getPersistentDataContainer().set(Keys.IDENTIFIER, PersistentDataType.BYTE, (byte) 1);
         item.setItemMeta(meta);
         return item;
     }
 
     public static boolean hasIdentifier(final ItemStack item) {
+        // Items without meta have no tag that could hold the identifier, checking this does not copy the meta.
+        if (!item.hasItemMeta()) {
+            return false;
+        }
+
         if (CompatUtil.isPre1_14()) {
             return NBT.hasItemKey(item, DUELS_ITEM_IDENTIFIER);
         }
 
-        final NamespacedKey key = new NamespacedKey(DuelsPlugin.getInstance(), DUELS_ITEM_IDENTIFIER);
         final ItemMeta meta = item.getItemMeta();
-        return meta.getPersistentDataContainer().has(key, PersistentDataType.BYTE);
+        return meta.getPersistentDataContainer().has(Keys.IDENTIFIER, PersistentDataType.BYTE);
     }
 
     public static ItemStack removeIdentifier(final ItemStack item) {
@@ -43,10 +44,15 @@ public final class Identifiers {
             return NBT.removeItemTag(item, DUELS_ITEM_IDENTIFIER);
         }
 
-        final NamespacedKey key = new NamespacedKey(DuelsPlugin.getInstance(), DUELS_ITEM_IDENTIFIER);
         final ItemMeta meta = item.getItemMeta();
-        meta.getPersistentDataContainer().remove(key);
+        meta.getPersistentDataContainer().remove(Keys.IDENTIFIER);
         item.setItemMeta(meta);
         return item;
     }
+
+    // Separate class so that NamespacedKey is only loaded on versions that have it.
+    private static final class Keys {
+
+        private static final NamespacedKey IDENTIFIER = new NamespacedKey(DuelsPlugin.getInstance(), DUELS_ITEM_IDENTIFIER);
+    }
 }
@@ -5,6 +5,7 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.mojang.authlib.GameProfile;
 import com.meteordevelopments.duels.util.reflect.ReflectionUtil;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.meta.SkullMeta;
 import org.jetbrains.annotations.NotNull;
@@ -52,6 +53,21 @@ public final class Skulls {
         return (GameProfile) GET_PROFILE.invoke(player);
     }
 
+    /**
+     * Sets given player as the owner of the given skull, using cached GameProfile information if the player is online.
+     *
+     * @param meta   SkullMeta of the skull to set owner
+     * @param player Player to display on skull
+     */
+    public static void setProfile(final SkullMeta meta, final OfflinePlayer player) {
+        if (player instanceof Player) {
+            setProfile(meta, (Player) player);
+            return;
+        }
+
+        meta.setOwningPlayer(player);
+    }
+
     /**
      * Sets given player as the owner of the given skull using cached GameProfile information of the player.
      *
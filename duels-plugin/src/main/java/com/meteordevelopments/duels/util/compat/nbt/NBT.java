@@ -1,9 +1,13 @@
 package com.meteordevelopments.duels.util.compat.nbt;
 
+import com.meteordevelopments.duels.util.Log;
 import com.meteordevelopments.duels.util.reflect.ReflectionUtil;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataContainer;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
 /**
@@ -11,37 +15,67 @@ import java.lang.reflect.Method;
  */
 public final class NBT {
 
-    private static final Method AS_NMS_COPY;
-    private static final Method AS_BUKKIT_COPY;
+    private static final Class<?> CB_ITEMSTACK;
+    private static final MethodHandle AS_NMS_COPY;
+    private static final MethodHandle AS_BUKKIT_COPY;
+    // Reads the NMS item backing a CraftItemStack without copying it.
+    private static final MethodHandle GET_HANDLE;
 
     private static final Class<?> TAG_COMPOUND;
 
-    private static final Method GET_TAG;
-    private static final Method SET_TAG;
-    private static final Method SET_STRING;
-    private static final Method REMOVE;
-    private static final Method HAS_KEY;
+    private static final MethodHandle GET_TAG;
+    private static final MethodHandle SET_TAG;
+    private static final MethodHandle SET_STRING;
+    private static final MethodHandle REMOVE;
+    private static final MethodHandle HAS_KEY;
 
     static {
-        final Class<?> CB_ITEMSTACK = ReflectionUtil.getCBClass("inventory.CraftItemStack");
+        CB_ITEMSTACK = ReflectionUtil.getCBClass("inventory.CraftItemStack");
         final Class<?> NMS_ITEMSTACK = ReflectionUtil.getNMSClass("ItemStack");
-        AS_NMS_COPY = ReflectionUtil.getMethod(CB_ITEMSTACK, "asNMSCopy", ItemStack.class);
-        AS_BUKKIT_COPY = ReflectionUtil.getMethod(CB_ITEMSTACK, "asBukkitCopy", NMS_ITEMSTACK);
+        AS_NMS_COPY = unreflect(ReflectionUtil.getMethod(CB_ITEMSTACK, "asNMSCopy", ItemStack.class));
+        AS_BUKKIT_COPY = unreflect(ReflectionUtil.getMethod(CB_ITEMSTACK, "asBukkitCopy", NMS_ITEMSTACK));
+        GET_HANDLE = unreflectGetter(ReflectionUtil.getDeclaredField(CB_ITEMSTACK, "handle"));
 
         TAG_COMPOUND = ReflectionUtil.getNMSClass("NBTTagCompound");
-        GET_TAG = ReflectionUtil.getMethod(NMS_ITEMSTACK, "getTag");
-        SET_TAG = ReflectionUtil.getMethod(NMS_ITEMSTACK, "setTag", TAG_COMPOUND);
-        SET_STRING = ReflectionUtil.getMethod(TAG_COMPOUND, "setString", String.class, String.class);
-        REMOVE = ReflectionUtil.getMethod(TAG_COMPOUND, "remove", String.class);
-        HAS_KEY = ReflectionUtil.getMethod(TAG_COMPOUND, "hasKey", String.class);
+        GET_TAG = unreflect(ReflectionUtil.getMethod(NMS_ITEMSTACK, "getTag"));
+        SET_TAG = unreflect(ReflectionUtil.getMethod(NMS_ITEMSTACK, "setTag", TAG_COMPOUND));
+        SET_STRING = unreflect(ReflectionUtil.getMethod(TAG_COMPOUND, "setString", String.class, String.class));
+        REMOVE = unreflect(ReflectionUtil.getMethod(TAG_COMPOUND, "remove", String.class));
+        HAS_KEY = unreflect(ReflectionUtil.getMethod(TAG_COMPOUND, "hasKey", String.class));
     }
 
     private NBT() {
     }
 
+    private static MethodHandle unreflect(final Method method) {
+        if (method == null) {
+            return null;
+        }
+
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            Log.error(ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflectGetter(final Field field) {
+        if (field == null) {
+            return null;
+        }
+
+        try {
+            return MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException ex) {
+            Log.error(ex.getMessage(), ex);
+            return null;
+        }
+    }
+
     public static ItemStack setItemString(final ItemStack item, final String key, final Object value) {
         try {
-            final Object nmsItem = AS_NMS_COPY.invoke(null, item);
+            final Object nmsItem = AS_NMS_COPY.invoke(item);
             Object tag = GET_TAG.invoke(nmsItem);
 
             if (tag == null) {
@@ -50,16 +84,16 @@ public final class NBT {
 
             SET_STRING.invoke(tag, key, value.toString());
             SET_TAG.invoke(nmsItem, tag);
-            return (ItemStack) AS_BUKKIT_COPY.invoke(null, nmsItem);
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            return (ItemStack) AS_BUKKIT_COPY.invoke(nmsItem);
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
             return item;
         }
     }
 
     public static ItemStack removeItemTag(final ItemStack item, final String key) {
         try {
-            final Object nmsItem = AS_NMS_COPY.invoke(null, item);
+            final Object nmsItem = AS_NMS_COPY.invoke(item);
             Object tag = GET_TAG.invoke(nmsItem);
 
             if (tag == null) {
@@ -68,16 +102,17 @@ public final class NBT {
 
             REMOVE.invoke(tag, key);
             SET_TAG.invoke(nmsItem, tag);
-            return (ItemStack) AS_BUKKIT_COPY.invoke(null, nmsItem);
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            return (ItemStack) AS_BUKKIT_COPY.invoke(nmsItem);
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
             return item;
         }
     }
 
     public static boolean hasItemKey(final ItemStack item, final String key) {
         try {
-            final Object nmsItem = AS_NMS_COPY.invoke(null, item);
+            // Items from inventories and events are CraftItemStacks, read their tag directly instead of copying them.
+            final Object nmsItem = GET_HANDLE != null && CB_ITEMSTACK.isInstance(item) ? GET_HANDLE.invoke(item) : AS_NMS_COPY.invoke(item);
 
             if (nmsItem == null) {
                 return false;
@@ -85,8 +120,8 @@ public final class NBT {
 
             final Object tag = GET_TAG.invoke(nmsItem);
             return tag != null && (boolean) HAS_KEY.invoke(tag, key);
-        } catch (Exception ex) {
-            ex.printStackTrace();
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
             return false;
         }
     }
@@ -9,6 +9,7 @@ import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -22,6 +23,9 @@ public abstract class AbstractGui<P extends JavaPlugin> {
 
     private final Map<Inventory, Map<Integer, Button<P>>> buttons = new HashMap<>();
 
+    // Listener this gui is registered to, kept to index inventories created after registration.
+    private GuiListener<P> listener;
+
     public AbstractGui(final P plugin) {
         this.plugin = plugin;
         this.creation = System.currentTimeMillis();
@@ -31,6 +35,11 @@ public abstract class AbstractGui<P extends JavaPlugin> {
 
     public abstract boolean isPart(final Inventory inventory);
 
+    /**
+     * @return inventories currently belonging to this gui.
+     */
+    public abstract Collection<Inventory> getInventories();
+
     public abstract void on(final Player player, final Inventory top, final InventoryClickEvent event);
 
     public void on(final Player player, final Inventory inventory, final InventoryCloseEvent event) {
@@ -88,4 +97,32 @@ public abstract class AbstractGui<P extends JavaPlugin> {
     public void clear() {
         buttons.keySet().forEach(Inventory::clear);
     }
+
+    void attach(final GuiListener<P> listener) {
+        this.listener = listener;
+        getInventories().forEach(inventory -> listener.index(inventory, this));
+    }
+
+    void detach(final GuiListener<P> listener) {
+        getInventories().forEach(inventory -> listener.unindex(inventory, this));
+        this.listener = null;
+    }
+
+    /**
+     * Registers an inventory created after this gui was added to the listener.
+     */
+    protected void track(final Inventory inventory) {
+        if (listener != null) {
+            listener.index(inventory, this);
+        }
+    }
+
+    /**
+     * Unregisters an inventory that no longer belongs to this gui.
+     */
+    protected void untrack(final Inventory inventory) {
+        if (listener != null) {
+            listener.unindex(inventory, this);
+        }
+    }
 }
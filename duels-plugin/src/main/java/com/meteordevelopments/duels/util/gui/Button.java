@@ -8,6 +8,7 @@ import com.meteordevelopments.duels.util.compat.Items;
 import com.meteordevelopments.duels.util.compat.Skulls;
 import com.meteordevelopments.duels.util.inventory.ItemBuilder;
 import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemFlag;
@@ -50,7 +51,7 @@ public class Button<P extends JavaPlugin> {
         setLore(Arrays.asList(lore));
     }
 
-    protected void setOwner(final Player player) {
+    protected void setOwner(final OfflinePlayer player) {
         if (Items.equals(displayed, Items.HEAD)) {
             editMeta(meta -> Skulls.setProfile((SkullMeta) meta, player));
         }
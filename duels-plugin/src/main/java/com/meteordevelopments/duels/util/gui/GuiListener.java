@@ -1,7 +1,6 @@
 package com.meteordevelopments.duels.util.gui;
 
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.meteordevelopments.duels.util.Loadable;
 import org.bukkit.Bukkit;
@@ -15,15 +14,14 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 public class GuiListener<P extends JavaPlugin> implements Loadable, Listener {
 
     private final Multimap<UUID, AbstractGui<P>> privateGuis = HashMultimap.create();
-    private final List<AbstractGui<P>> publicGuis = new ArrayList<>();
+    private final Set<AbstractGui<P>> publicGuis = new HashSet<>();
+    // Maps every inventory of a registered gui to its gui, so that events of other inventories are ignored with a single lookup.
+    private final Map<Inventory, AbstractGui<P>> inventories = new HashMap<>();
 
     public GuiListener(final P plugin) {
         Bukkit.getPluginManager().registerEvents(this, plugin);
@@ -35,14 +33,22 @@ public class GuiListener<P extends JavaPlugin> implements Loadable, Listener {
 
     @Override
     public void handleUnload() {
-        privateGuis.values().forEach(AbstractGui::clear);
+        privateGuis.values().forEach(gui -> {
+            gui.clear();
+            gui.detach(this);
+        });
         privateGuis.clear();
-        publicGuis.forEach(AbstractGui::clear);
+        publicGuis.forEach(gui -> {
+            gui.clear();
+            gui.detach(this);
+        });
         publicGuis.clear();
+        inventories.clear();
     }
 
     public void addGui(final AbstractGui<P> gui) {
         publicGuis.add(gui);
+        gui.attach(this);
     }
 
     /**
@@ -53,11 +59,14 @@ public class GuiListener<P extends JavaPlugin> implements Loadable, Listener {
             final Collection<AbstractGui<P>> guis = privateGuis.asMap().get(player.getUniqueId());
 
             if (guis != null) {
-                guis.removeIf(cached -> gui.getClass().isInstance(cached));
+                final List<AbstractGui<P>> removed = new ArrayList<>();
+                guis.removeIf(cached -> gui.getClass().isInstance(cached) && removed.add(cached));
+                removed.forEach(this::release);
             }
         }
 
         privateGuis.put(player.getUniqueId(), gui);
+        gui.attach(this);
         return gui;
     }
 
@@ -68,6 +77,7 @@ public class GuiListener<P extends JavaPlugin> implements Loadable, Listener {
     public void removeGui(final AbstractGui<P> gui) {
         gui.clear();
         publicGuis.remove(gui);
+        release(gui);
     }
 
     public void removeGui(final Player player, final AbstractGui<P> gui) {
@@ -78,59 +88,69 @@ public class GuiListener<P extends JavaPlugin> implements Loadable, Listener {
         if (guis != null) {
             guis.remove(gui);
         }
+
+        release(gui);
+    }
+
+    void index(final Inventory inventory, final AbstractGui<P> gui) {
+        inventories.put(inventory, gui);
     }
 
-    private List<AbstractGui<P>> get(final Player player) {
-        final List<AbstractGui<P>> guis = Lists.newArrayList(publicGuis);
+    void unindex(final Inventory inventory, final AbstractGui<P> gui) {
+        inventories.remove(inventory, gui);
+    }
 
-        if (privateGuis.containsKey(player.getUniqueId())) {
-            guis.addAll(privateGuis.get(player.getUniqueId()));
+    // Unregisters the inventories of the gui once no player or public slot refers to it anymore.
+    private void release(final AbstractGui<P> gui) {
+        if (!publicGuis.contains(gui) && !privateGuis.containsValue(gui)) {
+            gui.detach(this);
         }
+    }
+
+    private AbstractGui<P> get(final Player player, final Inventory inventory) {
+        final AbstractGui<P> gui = inventories.get(inventory);
 
-        return guis;
+        if (gui == null) {
+            return null;
+        }
+
+        // Private guis only handle events of the players they were added for
+        return publicGuis.contains(gui) || privateGuis.containsEntry(player.getUniqueId(), gui) ? gui : null;
     }
 
     @EventHandler
     public void on(final InventoryClickEvent event) {
         final Player player = (Player) event.getWhoClicked();
         final Inventory top = player.getOpenInventory().getTopInventory();
+        final AbstractGui<P> gui = get(player, top);
 
-        for (final AbstractGui<P> gui : get(player)) {
-            if (gui.isPart(top)) {
-                gui.on(player, top, event);
-                break;
-            }
+        if (gui != null) {
+            gui.on(player, top, event);
         }
     }
 
     @EventHandler
     public void on(final InventoryDragEvent event) {
         final Player player = (Player) event.getWhoClicked();
-        final Inventory inventory = event.getInventory();
+        final AbstractGui<P> gui = get(player, event.getInventory());
 
-        for (final AbstractGui<P> gui : get(player)) {
-            if (gui.isPart(inventory)) {
-                gui.on(player, event.getRawSlots(), event);
-                break;
-            }
+        if (gui != null) {
+            gui.on(player, event.getRawSlots(), event);
         }
     }
 
     @EventHandler
     public void on(final InventoryCloseEvent event) {
         final Player player = (Player) event.getPlayer();
-        final Inventory inventory = event.getInventory();
+        final AbstractGui<P> gui = get(player, event.getInventory());
 
-        for (final AbstractGui<P> gui : get(player)) {
-            if (gui.isPart(inventory)) {
-                gui.on(player, event.getInventory(), event);
-                break;
-            }
+        if (gui != null) {
+            gui.on(player, event.getInventory(), event);
         }
     }
 
     @EventHandler
     public void on(final PlayerQuitEvent event) {
-        privateGuis.removeAll(event.getPlayer().getUniqueId());
+        privateGuis.removeAll(event.getPlayer().getUniqueId()).forEach(this::release);
     }
 }
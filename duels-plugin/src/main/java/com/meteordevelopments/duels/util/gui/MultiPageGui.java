@@ -6,7 +6,6 @@ import lombok.Setter;
 import com.meteordevelopments.duels.util.compat.Inventories;
 import com.meteordevelopments.duels.util.compat.Items;
 import com.meteordevelopments.duels.util.inventory.InventoryBuilder;
-import com.meteordevelopments.duels.util.inventory.Slots;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -14,7 +13,7 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.Collection;
+import java.util.*;
 import java.util.function.Consumer;
 
 public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
@@ -27,6 +26,14 @@ public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
     private final Collection<? extends Button<P>> buttons;
 
     private PageNode first;
+    private boolean rebuildPending;
+
+    /**
+     * Runs rebuilds on a later tick, so that multiple calls to {@link #calculatePages()} within a tick collapse into
+     * a single rebuild. Pages are rebuilt immediately if not set.
+     */
+    @Setter
+    private Consumer<Runnable> rebuildScheduler;
 
     @Setter
     private ItemStack spaceFiller;
@@ -61,9 +68,33 @@ public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
     }
 
     /**
-     * Recalculates the pages for this {@link MultiPageGui}.
+     * Marks the pages of this {@link MultiPageGui} for recalculation.
      */
     public void calculatePages() {
+        // Tasks cannot be scheduled while the plugin is disabling
+        if (rebuildScheduler == null || !plugin.isEnabled()) {
+            rebuild();
+            return;
+        }
+
+        if (rebuildPending) {
+            return;
+        }
+
+        rebuildPending = true;
+        rebuildScheduler.accept(() -> {
+            if (rebuildPending) {
+                rebuild();
+            }
+        });
+    }
+
+    /**
+     * Recalculates the pages, only rewriting slots whose button or displayed item changed since the last rebuild.
+     */
+    private void rebuild() {
+        rebuildPending = false;
+
         // The max size an inventory can contain.
         final int maxSize = size - 9;
         // Total pages calculated based on the size of the buttons collection at this point of call.
@@ -80,54 +111,41 @@ public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
             return;
         }
 
-        int i = 0;
-        int pageNum = 1;
-        int slot = 0;
+        final Iterator<? extends Button<P>> iterator = buttons.iterator();
         PageNode last = null;
 
-        for (final Button<P> button : buttons) {
-            if (i % maxSize == 0) {
-                final PageNode prev = last;
+        for (int pageNum = 1; pageNum <= totalPages; pageNum++) {
+            final PageNode prev = last;
 
-                if (last == null) {
-                    last = first;
-                } else {
-                    if (last.next == null) {
-                        last.next = createPage(pageNum, totalPages);
-                    }
-
-                    last = last.next;
+            if (last == null) {
+                last = first;
+            } else {
+                if (last.next == null) {
+                    last.next = createPage(pageNum, totalPages);
                 }
 
-                last.setTitle(title + " (" + pageNum + "/" + totalPages + ")");
-                last.clear();
+                last = last.next;
+            }
 
-                if (prev != null) {
-                    last.previous = prev;
-                    last.inventory.setItem(prevPageSlot, prevButton);
-                    prev.next = last;
-                    prev.inventory.setItem(nextPageSlot, nextButton);
-                }
+            last.previous = prev;
+            last.setTitle(title + " (" + pageNum + "/" + totalPages + ")");
+            last.setNavigation(prev != null, pageNum < totalPages);
 
-                slot = 0;
-                pageNum++;
+            for (int slot = 0; slot < maxSize; slot++) {
+                last.update(slot, iterator.hasNext() ? iterator.next() : null);
             }
-
-            set(last.inventory, slot, button);
-            i++;
-            slot++;
         }
 
-        if (last != null) {
-            last.resetNext();
-        }
+        last.resetNext();
     }
 
     private PageNode createPage(final int page, final int total) {
-        return new PageNode(InventoryBuilder
+        final Inventory inventory = InventoryBuilder
                 .of(title + " (" + page + "/" + total + ")", size)
                 .fillRange(prevPageSlot, nextPageSlot + 1, getSpaceFiller())
-                .build());
+                .build();
+        track(inventory);
+        return new PageNode(inventory);
     }
 
     private ItemStack getSpaceFiller() {
@@ -136,6 +154,10 @@ public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
 
     @Override
     public void open(final Player... players) {
+        if (first == null || rebuildPending) {
+            rebuild();
+        }
+
         for (final Player player : players) {
             player.openInventory(first.inventory);
         }
@@ -143,7 +165,18 @@ public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
 
     @Override
     public boolean isPart(final Inventory inventory) {
-        return first.isPart(inventory);
+        return first != null && first.isPart(inventory);
+    }
+
+    @Override
+    public Collection<Inventory> getInventories() {
+        final List<Inventory> inventories = new ArrayList<>();
+
+        if (first != null) {
+            first.forEach(node -> inventories.add(node.inventory));
+        }
+
+        return inventories;
     }
 
     @Override
@@ -186,14 +219,19 @@ public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
     private class PageNode {
 
         private final Inventory inventory;
+        // Copies of the items last written to each slot, used to skip slots that did not change.
+        private final ItemStack[] written;
         private PageNode previous, next;
+        private String title;
+        private Boolean hasPrevious, hasNext;
 
         PageNode(final Inventory inventory) {
             this.inventory = inventory;
+            this.written = new ItemStack[size - 9];
         }
 
         void setEmpty() {
-            setTitle(title);
+            setTitle(MultiPageGui.this.title);
 
             final ItemStack item = inventory.getItem(4);
 
@@ -202,45 +240,76 @@ public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
             }
 
             clear();
-            resetBottom();
+            setNavigation(false, false);
             inventory.setItem(4, emptyIndicator);
-            remove(inventory);
+            written[4] = emptyIndicator;
             resetNext();
         }
 
+        void update(final int slot, final Button<P> button) {
+            if (button == null) {
+                if (written[slot] != null) {
+                    inventory.setItem(slot, null);
+                    written[slot] = null;
+                    remove(inventory, slot);
+                }
+
+                return;
+            }
+
+            final ItemStack displayed = button.getDisplayed();
+
+            if (displayed.equals(written[slot]) && get(inventory, slot) == button) {
+                return;
+            }
+
+            set(inventory, slot, button);
+            written[slot] = displayed.clone();
+        }
+
+        void setNavigation(final boolean hasPrevious, final boolean hasNext) {
+            if (!Boolean.valueOf(hasPrevious).equals(this.hasPrevious)) {
+                inventory.setItem(prevPageSlot, hasPrevious ? prevButton : getSpaceFiller());
+                this.hasPrevious = hasPrevious;
+            }
+
+            if (!Boolean.valueOf(hasNext).equals(this.hasNext)) {
+                inventory.setItem(nextPageSlot, hasNext ? nextButton : getSpaceFiller());
+                this.hasNext = hasNext;
+            }
+        }
+
         void resetNext() {
             if (next == null) {
                 return;
             }
 
-            inventory.setItem(nextPageSlot, getSpaceFiller());
-            forEach(node -> {
-                if (node.equals(this)) {
-                    return;
-                }
-
+            next.forEach(node -> {
                 remove(node.inventory);
                 Lists.newArrayList(node.inventory.getViewers()).forEach(HumanEntity::closeInventory);
+                untrack(node.inventory);
             });
             next = null;
         }
 
         void setTitle(final String title) {
+            if (title.equals(this.title)) {
+                return;
+            }
+
             Inventories.setTitle(inventory, title);
+            this.title = title;
         }
 
         void clear() {
             remove(inventory);
+            Arrays.fill(written, null);
 
             for (int slot = 0; slot < inventory.getSize() - 9; slot++) {
                 inventory.setItem(slot, null);
             }
         }
 
-        void resetBottom() {
-            Slots.run(prevPageSlot, nextPageSlot + 1, slot -> inventory.setItem(slot, getSpaceFiller()));
-        }
-
         void forEach(final Consumer<PageNode> consumer) {
             consumer.accept(this);
 
@@ -264,13 +333,5 @@ public class MultiPageGui<P extends JavaPlugin> extends AbstractGui<P> {
         boolean isPart(final Inventory inventory) {
             return find(inventory) != null;
         }
-
-//        boolean hasViewers() {
-//            if (!inventory.getViewers().isEmpty()) {
-//                return true;
-//            }
-//
-//            return next != null && !next.hasViewers();
-//        }
     }
 }
@@ -7,6 +7,9 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Collection;
+import java.util.Collections;
+
 public class SinglePageGui<P extends JavaPlugin> extends AbstractGui<P> {
 
     protected final Inventory inventory;
@@ -41,6 +44,11 @@ public class SinglePageGui<P extends JavaPlugin> extends AbstractGui<P> {
         return inventory.equals(this.inventory);
     }
 
+    @Override
+    public Collection<Inventory> getInventories() {
+        return Collections.singleton(inventory);
+    }
+
     @Override
     public void on(final Player player, final Inventory top, final InventoryClickEvent event) {
         final Inventory clicked = event.getClickedInventory();
@@ -67,6 +67,43 @@ public final class InventoryUtil {
         }
     }
 
+    /**
+     * @return inventory contents indexed by slot, with null for slots without an item.
+     */
+    public static ItemStack[] toContents(final Map<String, Map<Integer, ItemStack>> items) {
+        final Map<Integer, ItemStack> inventoryItems = items.get(INVENTORY_IDENTIFIER);
+
+        if (inventoryItems == null || inventoryItems.isEmpty()) {
+            return new ItemStack[0];
+        }
+
+        int size = 0;
+
+        for (final int slot : inventoryItems.keySet()) {
+            size = Math.max(size, slot + 1);
+        }
+
+        final ItemStack[] contents = new ItemStack[size];
+        inventoryItems.forEach((slot, item) -> contents[slot] = item.clone());
+        return contents;
+    }
+
+    /**
+     * @return armor contents as accepted by {@link PlayerInventory#setArmorContents(ItemStack[])} or null if there is
+     * no armor stored.
+     */
+    public static ItemStack[] toArmor(final Map<String, Map<Integer, ItemStack>> items) {
+        final Map<Integer, ItemStack> armorItems = items.get(ARMOR_IDENTIFIER);
+
+        if (armorItems == null) {
+            return null;
+        }
+
+        final ItemStack[] armor = new ItemStack[4];
+        armorItems.forEach((slot, item) -> armor[4 - slot] = item.clone());
+        return armor;
+    }
+
     public static boolean hasItem(final Player player) {
         final PlayerInventory inventory = player.getInventory();
 
@@ -0,0 +1,78 @@
+package com.meteordevelopments.duels.util.inventory;
+
+import com.meteordevelopments.duels.util.reflect.ReflectionUtil;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.*;
+
+/**
+ * Compact binary format for items. Uses Paper's byte serialization where available and falls back to Bukkit's
+ * object streams otherwise. Each item is prefixed with the format it was written in.
+ */
+public final class ItemCodec {
+
+    private static final byte FORMAT_PAPER = 1;
+    private static final byte FORMAT_BUKKIT = 2;
+    private static final boolean PAPER = ReflectionUtil.getMethodUnsafe(ItemStack.class, "serializeAsBytes") != null;
+
+    private ItemCodec() {
+    }
+
+    public static void write(final DataOutput out, final ItemStack item) throws IOException {
+        final byte[] bytes;
+
+        if (PAPER) {
+            out.writeByte(FORMAT_PAPER);
+            bytes = item.serializeAsBytes();
+        } else {
+            out.writeByte(FORMAT_BUKKIT);
+
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+            try (BukkitObjectOutputStream stream = new BukkitObjectOutputStream(buffer)) {
+                stream.writeObject(item);
+            }
+
+            bytes = buffer.toByteArray();
+        }
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static byte[] encode(final ItemStack item) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        write(new DataOutputStream(buffer), item);
+        return buffer.toByteArray();
+    }
+
+    public static ItemStack decode(final byte[] bytes) throws IOException {
+        return read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    public static ItemStack read(final DataInput in) throws IOException {
+        final byte format = in.readByte();
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+
+        if (format == FORMAT_PAPER) {
+            if (!PAPER) {
+                throw new IOException("Item was written by a Paper server and cannot be read on this server");
+            }
+
+            return ItemStack.deserializeBytes(bytes);
+        }
+
+        if (format != FORMAT_BUKKIT) {
+            throw new IOException("Unknown item format " + format);
+        }
+
+        try (BukkitObjectInputStream stream = new BukkitObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (ItemStack) stream.readObject();
+        } catch (ClassNotFoundException ex) {
+            throw new IOException(ex);
+        }
+    }
+}
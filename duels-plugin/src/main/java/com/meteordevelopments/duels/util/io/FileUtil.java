@@ -2,6 +2,9 @@ package com.meteordevelopments.duels.util.io;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public final class FileUtil {
 
@@ -18,4 +21,16 @@ public final class FileUtil {
 
         return file.length() > 0;
     }
+
+    /**
+     * Replaces target with source, atomically if supported by the file system, so that target is never left
+     * partially written.
+     */
+    public static void move(final File source, final File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 }